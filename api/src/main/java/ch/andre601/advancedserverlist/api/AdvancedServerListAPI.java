@@ -24,35 +24,42 @@
 
 package ch.andre601.advancedserverlist.api;
 
+import ch.andre601.advancedserverlist.api.exceptions.InvalidPlaceholderProviderException;
 import ch.andre601.advancedserverlist.api.internal.CheckUtil;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Core class of the API for AdvancedServerList.
  * <br>Use {@link #get() get()} to retrieve the instance currently used.
+ *
+ * <p>This class is thread-safe. Placeholder providers may be added while pings are being handled on other threads,
+ * and retrieving a provider never blocks.
  */
 public class AdvancedServerListAPI{
     
-    private static AdvancedServerListAPI instance = null;
+    private final Map<String, PlaceholderProvider> placeholderProviders = new ConcurrentHashMap<>();
+    private final Map<String, PlaceholderProviderHandle> handles = new ConcurrentHashMap<>();
     
-    private final Map<String, PlaceholderProvider> placeholderProviders = new HashMap<>();
+    private volatile PlaceholderProviderHandle[] registeredHandles = new PlaceholderProviderHandle[0];
+    private volatile HandleTable handleTable = new HandleTable(registeredHandles);
+    private volatile CircuitBreakerSettings circuitBreakerSettings = CircuitBreakerSettings.DEFAULT;
     
     private AdvancedServerListAPI(){}
     
     /**
      * Retrieves the instance used of this API.
-     * <br>If no instance has been made so far will a new one be created.
+     * <br>The instance is created lazily on first access and safely shared across all threads.
      *
      * @return Instance of this API.
      */
     public static AdvancedServerListAPI get(){
-        if(instance != null)
-            return instance;
-        
-        return (instance = new AdvancedServerListAPI());
+        return Holder.INSTANCE;
     }
     
     /**
@@ -77,7 +84,64 @@ public class AdvancedServerListAPI{
     public void addPlaceholderProvider(PlaceholderProvider placeholderProvider){
         String identifier = CheckUtil.checkPlaceholderProvider(placeholderProvider, placeholderProviders);
         
-        placeholderProviders.put(identifier, placeholderProvider);
+        // Registering and removing is synchronized, so that the map, handle and registered handles always agree.
+        synchronized(handles){
+            // Another thread may have registered the same identifier between the check and this call.
+            if(placeholderProviders.putIfAbsent(identifier, placeholderProvider) != null)
+                throw new InvalidPlaceholderProviderException("PlaceholderProvider with identifier '" + identifier + "' already exists.");
+            
+            PlaceholderProviderHandle handle = handles.computeIfAbsent(identifier, k -> new PlaceholderProviderHandle(k, null));
+            handle.setProvider(placeholderProvider);
+            
+            PlaceholderProviderHandle[] current = registeredHandles;
+            PlaceholderProviderHandle[] updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = handle;
+            
+            registeredHandles = updated;
+            handleTable = new HandleTable(updated);
+        }
+    }
+    
+    /**
+     * Removes the {@link PlaceholderProvider PlaceholderProvider} registered for the provided identifier, for example
+     * to register a new instance after a plugin reload.
+     * <br>Existing {@link PlaceholderProviderHandle PlaceholderProviderHandles} of the identifier stay valid and return
+     * {@code null} until a provider is registered again. Settings set through
+     * {@link #setCircuitBreakerSettings(String, CircuitBreakerSettings) setCircuitBreakerSettings(String, CircuitBreakerSettings)}
+     * are kept, while the health and metrics of the provider are reset.
+     *
+     * @param  identifier
+     *         The identifier of the PlaceholderProvider to remove.
+     *
+     * @return The removed PlaceholderProvider, or {@code null} should none be registered for the identifier.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided identifier is null.
+     */
+    public PlaceholderProvider removePlaceholderProvider(String identifier){
+        CheckUtil.isNull("Identifier", identifier);
+        
+        String normalized = identifier.trim().toLowerCase(Locale.ROOT);
+        synchronized(handles){
+            PlaceholderProvider removed = placeholderProviders.remove(normalized);
+            if(removed == null)
+                return null;
+            
+            PlaceholderProviderHandle handle = handles.get(normalized);
+            handle.setProvider(null);
+            
+            PlaceholderProviderHandle[] current = registeredHandles;
+            PlaceholderProviderHandle[] updated = new PlaceholderProviderHandle[current.length - 1];
+            int index = 0;
+            for(PlaceholderProviderHandle registered : current){
+                if(registered != handle)
+                    updated[index++] = registered;
+            }
+            
+            registeredHandles = updated;
+            handleTable = new HandleTable(updated);
+            return removed;
+        }
     }
     
     /**
@@ -92,4 +156,276 @@ public class AdvancedServerListAPI{
     public PlaceholderProvider retrievePlaceholderProvider(String identifier){
         return placeholderProviders.get(identifier.toLowerCase(Locale.ROOT));
     }
+    
+    /**
+     * Retrieves the {@link PlaceholderProvider PlaceholderProvider} whose identifier matches the characters between
+     * {@code start} (inclusive) and {@code end} (exclusive) of the provided {@link CharSequence CharSequence}, or
+     * {@code null} should no such entry exist.
+     *
+     * <p>The comparison is case-insensitive and, for identifiers consisting of ASCII characters only, does not create any
+     * new String, making it suitable for looking up identifiers directly within a text that is being parsed. The
+     * characters are hashed and looked up in a table of all registered providers, rather than compared against each
+     * provider.
+     *
+     * @param  chars
+     *         The CharSequence containing the identifier.
+     * @param  start
+     *         The start index of the identifier (inclusive).
+     * @param  end
+     *         The end index of the identifier (exclusive).
+     *
+     * @return Possibly-null {@link PlaceholderProvider PlaceholderProvider instance}.
+     */
+    public PlaceholderProvider retrievePlaceholderProvider(CharSequence chars, int start, int end){
+        int hash = HandleTable.asciiLowerCaseHash(chars, start, end);
+        if(hash == HandleTable.NON_ASCII){
+            // Lower-casing non-ASCII characters one at a time may differ from String.toLowerCase(Locale.ROOT), which
+            // is used to normalize identifiers on registration.
+            return retrievePlaceholderProvider(chars.subSequence(start, end).toString());
+        }
+        
+        PlaceholderProviderHandle handle = handleTable.find(hash, chars, start, end);
+        return handle == null ? null : handle.getProvider();
+    }
+    
+    /**
+     * Resolves the provided identifier into a {@link PlaceholderProviderHandle PlaceholderProviderHandle}.
+     * <br>The identifier is normalized only once, allowing repeated lookups through
+     * {@link PlaceholderProviderHandle#getProvider() PlaceholderProviderHandle.getProvider()} without any allocation.
+     *
+     * <p>The returned handle is shared for the same identifier and stays valid even if no provider has been registered
+     * yet, in which case it will point to the provider as soon as one with a matching identifier is added.
+     *
+     * @param  identifier
+     *         The identifier to resolve a handle for.
+     *
+     * @return Never-null {@link PlaceholderProviderHandle PlaceholderProviderHandle} for the given identifier.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided identifier is null.
+     */
+    public PlaceholderProviderHandle resolveHandle(String identifier){
+        CheckUtil.isNull("Identifier", identifier);
+        
+        return handles.computeIfAbsent(identifier.trim().toLowerCase(Locale.ROOT),
+            k -> new PlaceholderProviderHandle(k, placeholderProviders.get(k)));
+    }
+    
+    /**
+     * Returns the current {@link ProviderHealth health} of the {@link PlaceholderProvider PlaceholderProvider} with the
+     * provided identifier, or {@code null} should no such provider be registered.
+     *
+     * @param  identifier
+     *         The identifier of the PlaceholderProvider.
+     *
+     * @return Possibly-null {@link ProviderHealth ProviderHealth} of the provider.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided identifier is null.
+     */
+    public ProviderHealth getProviderHealth(String identifier){
+        CheckUtil.isNull("Identifier", identifier);
+        
+        PlaceholderProviderHandle handle = handles.get(identifier.toLowerCase(Locale.ROOT));
+        if(handle == null || handle.getProvider() == null)
+            return null;
+        
+        return handle.getHealth();
+    }
+    
+    /**
+     * Returns the current {@link ProviderHealth health} of all registered
+     * {@link PlaceholderProvider PlaceholderProviders}.
+     *
+     * @return List containing the ProviderHealth of each registered provider.
+     */
+    public List<ProviderHealth> getProviderHealth(){
+        PlaceholderProviderHandle[] current = registeredHandles;
+        
+        List<ProviderHealth> health = new ArrayList<>(current.length);
+        for(PlaceholderProviderHandle handle : current){
+            health.add(handle.getHealth());
+        }
+        
+        return health;
+    }
+    
+    /**
+     * Returns the current {@link ProviderMetrics metrics} of the {@link PlaceholderProvider PlaceholderProvider} with
+     * the provided identifier, or {@code null} should no such provider be registered.
+     *
+     * @param  identifier
+     *         The identifier of the PlaceholderProvider.
+     *
+     * @return Possibly-null {@link ProviderMetrics ProviderMetrics} of the provider.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided identifier is null.
+     */
+    public ProviderMetrics getProviderMetrics(String identifier){
+        CheckUtil.isNull("Identifier", identifier);
+        
+        PlaceholderProviderHandle handle = handles.get(identifier.toLowerCase(Locale.ROOT));
+        if(handle == null || handle.getProvider() == null)
+            return null;
+        
+        return handle.getMetrics(false);
+    }
+    
+    /**
+     * Returns the current {@link ProviderMetrics metrics} of all registered
+     * {@link PlaceholderProvider PlaceholderProviders}.
+     *
+     * @return List containing the ProviderMetrics of each registered provider.
+     */
+    public List<ProviderMetrics> getProviderMetrics(){
+        return collectMetrics(false);
+    }
+    
+    /**
+     * Returns the current {@link ProviderMetrics metrics} of all registered
+     * {@link PlaceholderProvider PlaceholderProviders} and resets them afterwards.
+     * <br>Calling this method periodically allows retrieving the metrics per interval.
+     *
+     * @return List containing the ProviderMetrics of each registered provider before they were reset.
+     */
+    public List<ProviderMetrics> resetProviderMetrics(){
+        return collectMetrics(true);
+    }
+    
+    /**
+     * Returns the {@link CircuitBreakerSettings CircuitBreakerSettings} used to isolate misbehaving
+     * {@link PlaceholderProvider PlaceholderProviders}.
+     *
+     * @return The CircuitBreakerSettings currently used.
+     */
+    public CircuitBreakerSettings getCircuitBreakerSettings(){
+        return circuitBreakerSettings;
+    }
+    
+    /**
+     * Sets the {@link CircuitBreakerSettings CircuitBreakerSettings} used to isolate misbehaving
+     * {@link PlaceholderProvider PlaceholderProviders}.
+     * <br>The new settings apply right away to all providers without settings of their own, without resetting their
+     * current health.
+     *
+     * @param  settings
+     *         The CircuitBreakerSettings to use.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided settings are null.
+     */
+    public void setCircuitBreakerSettings(CircuitBreakerSettings settings){
+        CheckUtil.isNull("CircuitBreakerSettings", settings);
+        
+        this.circuitBreakerSettings = settings;
+    }
+    
+    /**
+     * Returns the {@link CircuitBreakerSettings CircuitBreakerSettings} used for the
+     * {@link PlaceholderProvider PlaceholderProvider} with the provided identifier.
+     * <br>These are either the settings set for this provider only, or the ones set for all providers otherwise.
+     *
+     * @param  identifier
+     *         The identifier of the PlaceholderProvider.
+     *
+     * @return The CircuitBreakerSettings used for the provider.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided identifier is null.
+     */
+    public CircuitBreakerSettings getCircuitBreakerSettings(String identifier){
+        return resolveHandle(identifier).getCircuitBreakerSettings();
+    }
+    
+    /**
+     * Sets the {@link CircuitBreakerSettings CircuitBreakerSettings} used for the
+     * {@link PlaceholderProvider PlaceholderProvider} with the provided identifier only, for example to give a provider
+     * known to be slow a larger {@link CircuitBreakerSettings#slowCallThreshold() slowCallThreshold} or its own
+     * {@link CircuitBreakerSettings#fallback() fallback}.
+     * <br>The settings may be set before the provider is registered and are kept should it be registered again.
+     *
+     * @param  identifier
+     *         The identifier of the PlaceholderProvider.
+     * @param  settings
+     *         The CircuitBreakerSettings to use for the provider, or {@code null} to use the ones set for all
+     *         providers again.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided identifier is null.
+     */
+    public void setCircuitBreakerSettings(String identifier, CircuitBreakerSettings settings){
+        resolveHandle(identifier).setCircuitBreakerSettings(settings);
+    }
+    
+    private List<ProviderMetrics> collectMetrics(boolean reset){
+        PlaceholderProviderHandle[] current = registeredHandles;
+        
+        List<ProviderMetrics> metrics = new ArrayList<>(current.length);
+        for(PlaceholderProviderHandle handle : current){
+            metrics.add(handle.getMetrics(reset));
+        }
+        
+        return metrics;
+    }
+    
+    /*
+     * Open-addressed table of the registered handles, keyed by the hash of their identifier. Immutable and replaced as
+     * a whole whenever a provider is registered.
+     */
+    private static final class HandleTable{
+        
+        static final int NON_ASCII = 0x80000000;
+        
+        private final PlaceholderProviderHandle[] slots;
+        private final int mask;
+        
+        HandleTable(PlaceholderProviderHandle[] handles){
+            int capacity = Integer.highestOneBit(Math.max(handles.length * 2, 1) * 2 - 1);
+            this.slots = new PlaceholderProviderHandle[Math.max(capacity, 2)];
+            this.mask = slots.length - 1;
+            
+            for(PlaceholderProviderHandle handle : handles){
+                int index = handle.getIdentifier().hashCode() & mask;
+                while(slots[index] != null)
+                    index = (index + 1) & mask;
+                
+                slots[index] = handle;
+            }
+        }
+        
+        /*
+         * Returns the same value as String.hashCode of the lower-cased characters, or NON_ASCII should any character not
+         * be ASCII. The hash of an ASCII identifier equal to NON_ASCII only means a slower lookup.
+         */
+        static int asciiLowerCaseHash(CharSequence chars, int start, int end){
+            int hash = 0;
+            for(int i = start; i < end; i++){
+                char c = chars.charAt(i);
+                if(c >= 0x80)
+                    return NON_ASCII;
+                
+                hash = 31 * hash + (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
+            }
+            
+            return hash;
+        }
+        
+        PlaceholderProviderHandle find(int hash, CharSequence chars, int start, int end){
+            int index = hash & mask;
+            PlaceholderProviderHandle handle;
+            while((handle = slots[index]) != null){
+                if(handle.getIdentifier().hashCode() == hash && handle.matches(chars, start, end))
+                    return handle;
+                
+                index = (index + 1) & mask;
+            }
+            
+            return null;
+        }
+    }
+    
+    private static class Holder{
+        private static final AdvancedServerListAPI INSTANCE = new AdvancedServerListAPI();
+    }
 }
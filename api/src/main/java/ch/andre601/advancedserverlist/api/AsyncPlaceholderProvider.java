@@ -0,0 +1,270 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Variant of the {@link PlaceholderProvider PlaceholderProvider} for placeholders whose value needs to be retrieved
+ * from a slow source such as a database or a remote backend.
+ *
+ * <p>Instead of returning the value directly will {@link #parsePlaceholderAsync(String, GenericPlayer, GenericServer) parsePlaceholderAsync}
+ * return a {@link CompletableFuture CompletableFuture}. Should the future not complete within the timeout provided
+ * through the {@link #AsyncPlaceholderProvider(String, Duration, String) Constructor}, or complete exceptionally, will
+ * the {@link #getFallback(String, GenericPlayer, GenericServer) fallback} be used instead.
+ * <br>The fallback is the fallback text, unless reusing the last value has been enabled through the
+ * {@link #AsyncPlaceholderProvider(String, Duration, String, Executor, boolean) Constructor}, in which case the last
+ * value successfully returned for the same placeholder and player is used, if available.
+ *
+ * <p>The fallback is retrieved on the {@link Executor Executor} provided through the constructor, or the
+ * {@link ForkJoinPool#commonPool() common pool} otherwise, rather than on the thread that noticed the timeout.
+ *
+ * <h4>Example</h4>
+ * <pre>{@code
+ * public class MyAsyncPlaceholders extends AsyncPlaceholderProvider {
+ *
+ *     public MyAsyncPlaceholders() {
+ *         super("myasyncplaceholders", Duration.ofMillis(50), "?");
+ *     }
+ *
+ *     @Override
+ *     public CompletableFuture<String> parsePlaceholderAsync(String placeholder, GenericPlayer player, GenericServer server) {
+ *         if(placeholder.equals("balance"))
+ *             return CompletableFuture.supplyAsync(() -> database.getBalance(player.getUUID()), executor);
+ *
+ *         return CompletableFuture.completedFuture(null);
+ *     }
+ * }
+ * }</pre>
+ */
+public abstract class AsyncPlaceholderProvider extends PlaceholderProvider{
+    
+    /**
+     * The maximum number of last values remembered per provider should reusing them be enabled.
+     */
+    public static final int MAX_LAST_RESULTS = 4096;
+    
+    private final long timeoutNanos;
+    private final String fallback;
+    private final Executor executor;
+    
+    private final Map<LastResult, String> lastResults;
+    
+    /**
+     * Constructor used to set the identifier, timeout and fallback text for the class extending this class.
+     *
+     * @param identifier
+     *        The identifier to use for the placeholder. Shouldn't be null, empty, nor contain spaces.
+     * @param timeout
+     *        How long to wait for a value before using the fallback.
+     * @param fallback
+     *        The text to use should no value be available in time. May be {@code null} to return the placeholder
+     *        unchanged.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided timeout is null.
+     */
+    public AsyncPlaceholderProvider(String identifier, Duration timeout, String fallback){
+        this(identifier, timeout, fallback, ForkJoinPool.commonPool(), false);
+    }
+    
+    /**
+     * Constructor used to set the identifier, timeout, fallback text, the executor to retrieve fallbacks on and whether
+     * the last values should be reused for the class extending this class.
+     *
+     * <p>Should the last values be reused, will the last value successfully returned for the same placeholder and
+     * {@link GenericPlayer#getUUID() player} be used as fallback, if available. Up to {@value #MAX_LAST_RESULTS} values
+     * are remembered.
+     *
+     * @param identifier
+     *        The identifier to use for the placeholder. Shouldn't be null, empty, nor contain spaces.
+     * @param timeout
+     *        How long to wait for a value before using the fallback.
+     * @param fallback
+     *        The text to use should no value be available in time. May be {@code null} to return the placeholder
+     *        unchanged.
+     * @param executor
+     *        The {@link Executor Executor} used to retrieve the fallback should the timeout pass.
+     * @param reuseLastResults
+     *        Whether the last value of a placeholder should be used as fallback.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided timeout or executor is null.
+     */
+    public AsyncPlaceholderProvider(String identifier, Duration timeout, String fallback, Executor executor,
+                                    boolean reuseLastResults){
+        super(identifier);
+        CheckUtil.isNull("Timeout", timeout);
+        CheckUtil.isNull("Executor", executor);
+        
+        this.timeoutNanos = timeout.toNanos();
+        this.fallback = fallback;
+        this.executor = executor;
+        this.lastResults = reuseLastResults ? new ConcurrentHashMap<>() : null;
+    }
+    
+    /**
+     * This method is called by {@link #resolvePlaceholder(String, GenericPlayer, GenericServer) resolvePlaceholder}
+     * to retrieve the value of a placeholder.
+     * <br>The returned future should be completed on a thread other than the calling one.
+     *
+     * <p>The future may be completed with {@code null} to indicate the placeholder being invalid, having
+     * AdvancedServerList return the placeholder unchanged.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return CompletableFuture completing with the parsed String or {@code null} for invalid placeholders.
+     */
+    public abstract CompletableFuture<String> parsePlaceholderAsync(String placeholder, GenericPlayer player, GenericServer server);
+    
+    /**
+     * Resolves the placeholder asynchronously.
+     * <br>The returned CompletableFuture never completes exceptionally and is completed with the
+     * {@link #getFallback(String, GenericPlayer, GenericServer) fallback} should the value not be available within the
+     * timeout.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return CompletableFuture completing with the parsed String, the fallback or {@code null} for invalid placeholders.
+     */
+    public CompletableFuture<String> resolvePlaceholder(String placeholder, GenericPlayer player, GenericServer server){
+        return resolvePlaceholder(placeholder, player, server, null);
+    }
+    
+    /*
+     * Resolves the placeholder, reporting to the outcome listener, if set, whether the value was available in time.
+     * The listener receives null on success, or the exception that caused the fallback to be used.
+     */
+    CompletableFuture<String> resolvePlaceholder(String placeholder, GenericPlayer player, GenericServer server,
+                                                 Consumer<Throwable> outcome){
+        CompletableFuture<String> future;
+        try{
+            future = parsePlaceholderAsync(placeholder, player, server);
+        }catch(RuntimeException ex){
+            report(outcome, ex);
+            return CompletableFuture.completedFuture(getFallback(placeholder, player, server));
+        }
+        
+        if(future == null){
+            report(outcome, new IllegalStateException("parsePlaceholderAsync returned null for " + placeholder));
+            return CompletableFuture.completedFuture(getFallback(placeholder, player, server));
+        }
+        
+        // The timeout is applied to a dependent future, leaving the one of the provider untouched. The fallback is only
+        // retrieved should the value not be available in time, and never on the JDK's shared timeout thread.
+        return future.thenApply(value -> {
+                if(value != null && lastResults != null)
+                    remember(new LastResult(player == null ? null : player.getUUID(), placeholder), value);
+                
+                return value;
+            })
+            .orTimeout(timeoutNanos, TimeUnit.NANOSECONDS)
+            .handleAsync((value, ex) -> {
+                Throwable error = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                report(outcome, error);
+                
+                return error == null ? value : getFallback(placeholder, player, server);
+            }, executor);
+    }
+    
+    /**
+     * Resolves the placeholder and waits for the result.
+     * <br>The calling thread is blocked for at most the timeout of this provider.
+     *
+     * <p>Prefer {@link #resolvePlaceholder(String, GenericPlayer, GenericServer) resolvePlaceholder} whenever possible.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return Parsed String, the fallback or {@code null} for invalid placeholders.
+     */
+    @Override
+    public String parsePlaceholder(String placeholder, GenericPlayer player, GenericServer server){
+        return resolvePlaceholder(placeholder, player, server).join();
+    }
+    
+    /**
+     * Returns the value to use should the placeholder not be resolved in time.
+     * <br>By default is this the fallback text, or, should reusing the last values be enabled, the last value
+     * successfully returned for the same placeholder and player, if available.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return Possibly-null String to use as fallback.
+     */
+    public String getFallback(String placeholder, GenericPlayer player, GenericServer server){
+        if(lastResults == null)
+            return fallback;
+        
+        return lastResults.getOrDefault(new LastResult(player == null ? null : player.getUUID(), placeholder), fallback);
+    }
+    
+    // Cleared once full, so that values of players no longer pinging don't pile up.
+    private void remember(LastResult key, String value){
+        if(lastResults.size() >= MAX_LAST_RESULTS && !lastResults.containsKey(key))
+            lastResults.clear();
+        
+        lastResults.put(key, value);
+    }
+    
+    private static void report(Consumer<Throwable> outcome, Throwable error){
+        if(outcome != null)
+            outcome.accept(error);
+    }
+    
+    private record LastResult(UUID player, String placeholder){}
+}
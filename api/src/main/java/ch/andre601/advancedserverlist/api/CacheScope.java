@@ -0,0 +1,48 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+/**
+ * Enum used by the {@link CachingPlaceholderProvider CachingPlaceholderProvider} to define for whom a cached
+ * placeholder value is valid.
+ */
+public enum CacheScope{
+    
+    /**
+     * The cached value is shared between all players.
+     */
+    GLOBAL,
+    
+    /**
+     * The cached value is only valid for the player with the same {@link ch.andre601.advancedserverlist.api.objects.GenericPlayer#getUUID() UUID}.
+     */
+    PLAYER,
+    
+    /**
+     * The cached value is shared between all players using the same
+     * {@link ch.andre601.advancedserverlist.api.objects.GenericPlayer#getProtocol() protocol version}.
+     */
+    PROTOCOL
+}
@@ -0,0 +1,342 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.ExpiringCache;
+import ch.andre601.advancedserverlist.api.internal.JfrEvents;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link PlaceholderProvider PlaceholderProvider} wrapping another one and caching its results for a set amount of
+ * time.
+ * <br>Useful for placeholders whose value only changes every few seconds but is expensive to compute.
+ *
+ * <p>Results are cached per placeholder and, depending on the {@link CacheScope CacheScope}, per player or protocol
+ * version. The cache holds at most {@code maxSize} entries, removing expired entries first and arbitrary ones after
+ * should the limit still be exceeded. {@code null} results are cached as well.
+ *
+ * <p>Lookups never block. Should two threads request the same uncached value at once may the wrapped provider be
+ * called more than once.
+ * <br>{@link #parsePlaceholders(Collection, GenericPlayer, GenericServer) parsePlaceholders} and
+ * {@link #appendPlaceholder(String, GenericPlayer, GenericServer, StringBuilder) appendPlaceholder} forward uncached
+ * placeholders to the same methods of the wrapped provider, keeping any optimization it made for them.
+ *
+ * <p>An {@link AsyncPlaceholderProvider AsyncPlaceholderProvider} can't be wrapped, as its results would be waited for
+ * on the calling thread.
+ *
+ * <h4>Example</h4>
+ * <pre>{@code
+ * AdvancedServerListAPI.get().addPlaceholderProvider(
+ *     new CachingPlaceholderProvider(new MyPlaceholders(), Duration.ofSeconds(5), CacheScope.GLOBAL, 256)
+ * );
+ * }</pre>
+ */
+public class CachingPlaceholderProvider extends PlaceholderProvider{
+    
+    // Cached in place of null results, so that they can be told apart from missing ones.
+    private static final String NULL_RESULT = new String();
+    
+    private final PlaceholderProvider provider;
+    private final long ttlNanos;
+    private final CacheScope scope;
+    private final ExpiringCache<Key, String> cache;
+    
+    /**
+     * Creates a new CachingPlaceholderProvider using the identifier of the provided PlaceholderProvider.
+     *
+     * @param provider
+     *        The {@link PlaceholderProvider PlaceholderProvider} to cache results of.
+     * @param ttl
+     *        How long a result should be cached for. Needs to be positive.
+     * @param scope
+     *        The {@link CacheScope CacheScope} for which a cached result is valid.
+     * @param maxSize
+     *        The maximum number of results to cache. Needs to be positive.
+     *
+     * @throws IllegalArgumentException
+     *         When provider, ttl or scope is null, ttl or maxSize is not positive, or the provider is an
+     *         {@link AsyncPlaceholderProvider AsyncPlaceholderProvider}.
+     */
+    public CachingPlaceholderProvider(PlaceholderProvider provider, Duration ttl, CacheScope scope, int maxSize){
+        super(provider == null ? null : provider.getIdentifier());
+        CheckUtil.isNull("PlaceholderProvider", provider);
+        CheckUtil.isNull("TTL", ttl);
+        CheckUtil.isNull("CacheScope", scope);
+        
+        if(provider instanceof AsyncPlaceholderProvider)
+            throw new IllegalArgumentException("AsyncPlaceholderProvider may not be cached!");
+        
+        if(ttl.isNegative() || ttl.isZero())
+            throw new IllegalArgumentException("TTL needs to be positive!");
+        
+        this.cache = new ExpiringCache<>(maxSize);
+        this.provider = provider;
+        this.ttlNanos = ttl.toNanos();
+        this.scope = scope;
+    }
+    
+    /**
+     * Returns the cached result for the placeholder, or calls the wrapped provider should no valid result be cached.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return Parsed String based on the wrapped PlaceholderProvider or {@code null} for invalid placeholders.
+     */
+    @Override
+    public String parsePlaceholder(String placeholder, GenericPlayer player, GenericServer server){
+        Object event = JfrEvents.beginPlaceholderResolve();
+        
+        boolean[] loaded = {false};
+        try{
+            String result = cache.get(new Key(placeholder, scopeOf(player)), key -> {
+                loaded[0] = true;
+                return wrap(provider.parsePlaceholder(placeholder, player, server));
+            }, ttlNanos);
+            
+            JfrEvents.completePlaceholderResolve(event, getIdentifier(), placeholder, !loaded[0], false);
+            return unwrap(result);
+        }catch(RuntimeException | LinkageError ex){
+            JfrEvents.completePlaceholderResolve(event, getIdentifier(), placeholder, false, true);
+            throw ex;
+        }
+    }
+    
+    /**
+     * Returns the cached results for the placeholders, resolving all placeholders without a valid cached result
+     * through a single call of the wrapped provider's
+     * {@link PlaceholderProvider#parsePlaceholders(Collection, GenericPlayer, GenericServer) parsePlaceholders}.
+     *
+     * @param  placeholders
+     *         The parts of the placeholders after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return Map with each placeholder as key and the parsed String, or {@code null} for invalid placeholders, as value.
+     */
+    @Override
+    public Map<String, String> parsePlaceholders(Collection<String> placeholders, GenericPlayer player, GenericServer server){
+        Object event = JfrEvents.beginPlaceholderResolve();
+        String joined = JfrEvents.isEnabled(event) ? String.join(",", placeholders) : null;
+        
+        Object scope = scopeOf(player);
+        Map<String, String> results = new HashMap<>(placeholders.size() * 2);
+        List<String> missing = null;
+        for(String placeholder : placeholders){
+            String cached = cache.getIfPresent(new Key(placeholder, scope));
+            if(cached != null){
+                results.put(placeholder, unwrap(cached));
+            }else if(!results.containsKey(placeholder)){
+                if(missing == null)
+                    missing = new ArrayList<>(placeholders.size());
+                
+                missing.add(placeholder);
+                results.put(placeholder, null);
+            }
+        }
+        
+        try{
+            if(missing != null){
+                Map<String, String> loaded = provider.parsePlaceholders(missing, player, server);
+                for(String placeholder : missing){
+                    String result = loaded == null ? null : loaded.get(placeholder);
+                    cache.put(new Key(placeholder, scope), wrap(result), ttlNanos);
+                    results.put(placeholder, result);
+                }
+            }
+            
+            JfrEvents.completePlaceholderResolve(event, getIdentifier(), joined, missing == null, false);
+            return results;
+        }catch(RuntimeException | LinkageError ex){
+            JfrEvents.completePlaceholderResolve(event, getIdentifier(), joined, false, true);
+            throw ex;
+        }
+    }
+    
+    /**
+     * Appends the cached result for the placeholder, or has the wrapped provider's
+     * {@link PlaceholderProvider#appendPlaceholder(String, GenericPlayer, GenericServer, StringBuilder) appendPlaceholder}
+     * append it should no valid result be cached, caching what has been appended.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     * @param  sink
+     *         The {@link StringBuilder StringBuilder} to append the result to.
+     *
+     * @return True if the placeholder has been appended, false for invalid placeholders.
+     */
+    @Override
+    public boolean appendPlaceholder(String placeholder, GenericPlayer player, GenericServer server, StringBuilder sink){
+        Object event = JfrEvents.beginPlaceholderResolve();
+        
+        Key key = new Key(placeholder, scopeOf(player));
+        String cached = cache.getIfPresent(key);
+        if(cached != null){
+            JfrEvents.completePlaceholderResolve(event, getIdentifier(), placeholder, true, false);
+            if(cached == NULL_RESULT)
+                return false;
+            
+            sink.append(cached);
+            return true;
+        }
+        
+        int length = sink.length();
+        try{
+            boolean appended = provider.appendPlaceholder(placeholder, player, server, sink);
+            cache.put(key, appended ? sink.substring(length) : NULL_RESULT, ttlNanos);
+            
+            JfrEvents.completePlaceholderResolve(event, getIdentifier(), placeholder, false, false);
+            return appended;
+        }catch(RuntimeException | LinkageError ex){
+            JfrEvents.completePlaceholderResolve(event, getIdentifier(), placeholder, false, true);
+            throw ex;
+        }
+    }
+    
+    /**
+     * Returns the {@link Volatility Volatility} of the wrapped {@link PlaceholderProvider PlaceholderProvider}.
+     *
+     * @return The Volatility of the wrapped PlaceholderProvider.
+     */
+    @Override
+    public Volatility getVolatility(){
+        return provider.getVolatility();
+    }
+    
+    /**
+     * Returns the {@link Volatility Volatility} the wrapped {@link PlaceholderProvider PlaceholderProvider} declares for
+     * the provided placeholder.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     *
+     * @return The Volatility of the placeholder.
+     */
+    @Override
+    public Volatility getVolatility(String placeholder){
+        return provider.getVolatility(placeholder);
+    }
+    
+    /**
+     * Returns the {@link PlaceholderProvider PlaceholderProvider} wrapped by this instance.
+     *
+     * @return The wrapped PlaceholderProvider.
+     */
+    public PlaceholderProvider getProvider(){
+        return provider;
+    }
+    
+    /**
+     * Returns the {@link CacheScope CacheScope} used by this instance.
+     *
+     * @return The CacheScope used by this instance.
+     */
+    public CacheScope getScope(){
+        return scope;
+    }
+    
+    /**
+     * Returns how often a valid cached result could be returned.
+     *
+     * @return Number of cache hits.
+     */
+    public long getHitCount(){
+        return cache.getHitCount();
+    }
+    
+    /**
+     * Returns how often the wrapped provider had to be called due to no valid result being cached.
+     *
+     * @return Number of cache misses.
+     */
+    public long getMissCount(){
+        return cache.getMissCount();
+    }
+    
+    /**
+     * Returns how many cached results have been removed due to the size limit being exceeded.
+     *
+     * @return Number of evicted results.
+     */
+    public long getEvictionCount(){
+        return cache.getEvictionCount();
+    }
+    
+    /**
+     * Returns the number of results currently cached, including expired ones not yet removed.
+     *
+     * @return Number of cached results.
+     */
+    public int size(){
+        return cache.size();
+    }
+    
+    /**
+     * Removes all cached results, forcing the wrapped provider to be called on the next request.
+     */
+    public void invalidateAll(){
+        cache.invalidateAll();
+    }
+    
+    private Object scopeOf(GenericPlayer player){
+        if(player == null)
+            return null;
+        
+        return switch(scope){
+            case GLOBAL -> null;
+            case PLAYER -> player.getUUID();
+            case PROTOCOL -> player.getProtocol();
+        };
+    }
+    
+    private static String wrap(String result){
+        return result == null ? NULL_RESULT : result;
+    }
+    
+    private static String unwrap(String cached){
+        return cached == NULL_RESULT ? null : cached;
+    }
+    
+    private record Key(String placeholder, Object scope){}
+}
@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+
+import java.time.Duration;
+
+/**
+ * Settings used to isolate misbehaving {@link PlaceholderProvider PlaceholderProviders}.
+ * <br>Use {@link AdvancedServerListAPI#setCircuitBreakerSettings(CircuitBreakerSettings) AdvancedServerListAPI.setCircuitBreakerSettings(CircuitBreakerSettings)}
+ * to change the settings used by all providers, or
+ * {@link AdvancedServerListAPI#setCircuitBreakerSettings(String, CircuitBreakerSettings) AdvancedServerListAPI.setCircuitBreakerSettings(String, CircuitBreakerSettings)}
+ * to change them for a single provider.
+ *
+ * <p>A call of a provider counts as failed should it throw an exception or, if set, take longer than the
+ * {@code slowCallThreshold}. Once a provider failed {@code failureThreshold} times in a row will it be disabled for
+ * {@code openDuration}, returning the {@code fallback} instead. Afterwards is the provider probed again in the
+ * background, enabling it again if the probe succeeds or disabling it for another {@code openDuration} otherwise.
+ * <br>A probe not returning within the {@code slowCallThreshold}, or {@link #DEFAULT_PROBE_TIMEOUT 10 seconds} should
+ * none be set, counts as failed, even though it keeps running in the background.
+ *
+ * <p>The {@code slowCallThreshold} is only checked once a call returned, as a synchronous call can't be interrupted.
+ * A provider that hangs still blocks the calling thread. Placeholders that need a hard deadline should be provided
+ * through an {@link AsyncPlaceholderProvider AsyncPlaceholderProvider} instead.
+ *
+ * @param failureThreshold
+ *        Number of consecutive failed calls after which a provider is disabled. Needs to be positive.
+ * @param slowCallThreshold
+ *        Duration after which a call counts as failed, even if it returned a result. Needs to be positive, or
+ *        {@code null} to only count exceptions as failed calls.
+ * @param openDuration
+ *        How long a provider stays disabled before it is probed again. May not be negative.
+ * @param fallback
+ *        The text returned for placeholders of a disabled or failing provider, or {@code null} to keep the placeholder
+ *        unchanged.
+ */
+public record CircuitBreakerSettings(int failureThreshold, Duration slowCallThreshold, Duration openDuration,
+                                     String fallback){
+    
+    /**
+     * How long a probe may take at most should no {@code slowCallThreshold} be set.
+     */
+    public static final Duration DEFAULT_PROBE_TIMEOUT = Duration.ofSeconds(10);
+    
+    /**
+     * Default settings, disabling a provider for 30 seconds after 5 consecutive calls threw an exception, keeping its
+     * placeholders unchanged meanwhile.
+     * <br>Slow calls aren't counted as failed by default, as the time a provider may take differs a lot between
+     * providers. Set a {@code slowCallThreshold} for providers that should be isolated when being slow.
+     */
+    public static final CircuitBreakerSettings DEFAULT = new CircuitBreakerSettings(
+        5, null, Duration.ofSeconds(30), null
+    );
+    
+    /**
+     * Creates new CircuitBreakerSettings.
+     *
+     * @param failureThreshold
+     *        Number of consecutive failed calls after which a provider is disabled. Needs to be positive.
+     * @param slowCallThreshold
+     *        Duration after which a call counts as failed, even if it returned a result. Needs to be positive, or
+     *        {@code null} to only count exceptions as failed calls.
+     * @param openDuration
+     *        How long a provider stays disabled before it is probed again. May not be negative.
+     * @param fallback
+     *        The text returned for placeholders of a disabled or failing provider, or {@code null} to keep the
+     *        placeholder unchanged.
+     *
+     * @throws IllegalArgumentException
+     *         When the open duration is null, or any value is outside its allowed range.
+     */
+    public CircuitBreakerSettings{
+        CheckUtil.isNull("Open duration", openDuration);
+        
+        if(failureThreshold <= 0)
+            throw new IllegalArgumentException("Failure threshold needs to be positive!");
+        
+        if(slowCallThreshold != null && (slowCallThreshold.isNegative() || slowCallThreshold.isZero()))
+            throw new IllegalArgumentException("Slow call threshold needs to be positive!");
+        
+        if(openDuration.isNegative())
+            throw new IllegalArgumentException("Open duration may not be negative!");
+    }
+    
+    /*
+     * Returns whether a call that took the provided number of nanoseconds counts as failed.
+     */
+    boolean isSlowCall(long elapsedNanos){
+        return slowCallThreshold != null && elapsedNanos > slowCallThreshold.toNanos();
+    }
+    
+    long probeTimeoutNanos(){
+        return (slowCallThreshold == null ? DEFAULT_PROBE_TIMEOUT : slowCallThreshold).toNanos();
+    }
+}
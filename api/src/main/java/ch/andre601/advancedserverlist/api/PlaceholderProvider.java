@@ -27,6 +27,10 @@ package ch.andre601.advancedserverlist.api;
 import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
 import ch.andre601.advancedserverlist.api.objects.GenericServer;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Abstract class used to create Placeholders in the format <code>${identifier values}</code> with <code>identifier</code>
  * being the name you provide through the {@link #PlaceholderProvider(String) Constructor}.
@@ -82,6 +86,94 @@ public abstract class PlaceholderProvider{
      */
     public abstract String parsePlaceholder(String placeholder, GenericPlayer player, GenericServer server);
     
+    /**
+     * This method is called by AdvancedServerList to resolve multiple placeholders of this provider at once, for
+     * example all placeholders with this provider's identifier found in a single
+     * {@link ch.andre601.advancedserverlist.api.profiles.ProfileEntry ProfileEntry}.
+     *
+     * <p>By default will this method call {@link #parsePlaceholder(String, GenericPlayer, GenericServer) parsePlaceholder}
+     * for each placeholder. Override it should your placeholders share expensive state that only needs to be retrieved
+     * once per ping.
+     *
+     * @param  placeholders
+     *         The parts of the placeholders after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return Map with each placeholder as key and the parsed String, or {@code null} for invalid placeholders, as value.
+     */
+    public Map<String, String> parsePlaceholders(Collection<String> placeholders, GenericPlayer player, GenericServer server){
+        Map<String, String> results = new HashMap<>(placeholders.size() * 2);
+        for(String placeholder : placeholders){
+            results.put(placeholder, parsePlaceholder(placeholder, player, server));
+        }
+        
+        return results;
+    }
+    
+    /**
+     * This method is called by AdvancedServerList to append the result of a placeholder directly to the text being
+     * rendered, avoiding the String {@link #parsePlaceholder(String, GenericPlayer, GenericServer) parsePlaceholder}
+     * would otherwise need to create.
+     *
+     * <p>By default will this method append the result of
+     * {@link #parsePlaceholder(String, GenericPlayer, GenericServer) parsePlaceholder}. Override it should your
+     * placeholders be resolved from values, such as numbers, that can be appended without creating a String first.
+     * <br>Nothing should be appended when {@code false} is returned, as AdvancedServerList will append the placeholder
+     * unchanged in that case.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     * @param  sink
+     *         The {@link StringBuilder StringBuilder} to append the result to.
+     *
+     * @return True if the placeholder has been appended, false for invalid placeholders.
+     */
+    public boolean appendPlaceholder(String placeholder, GenericPlayer player, GenericServer server, StringBuilder sink){
+        String result = parsePlaceholder(placeholder, player, server);
+        if(result == null)
+            return false;
+        
+        sink.append(result);
+        return true;
+    }
+    
+    /**
+     * Returns what the results of this provider's placeholders depend on.
+     * <br>Defaults to {@link Volatility#PLAYER PLAYER}, meaning every placeholder is resolved on every ping.
+     *
+     * <p>Override this method to allow AdvancedServerList to resolve placeholders less often. Placeholders declared as
+     * {@link Volatility#CONSTANT CONSTANT} are resolved once when a text is compiled, while texts containing only
+     * {@link Volatility#TIMED TIMED} or {@link Volatility#SERVER SERVER} placeholders may be re-used for multiple pings.
+     *
+     * @return The {@link Volatility Volatility} of this provider's placeholders.
+     *
+     * @see #getVolatility(String)
+     */
+    public Volatility getVolatility(){
+        return Volatility.PLAYER;
+    }
+    
+    /**
+     * Returns what the result of the provided placeholder depends on.
+     * <br>Defaults to {@link #getVolatility() getVolatility()}. Override it should the volatility differ between the
+     * placeholders of this provider.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     *
+     * @return The {@link Volatility Volatility} of the placeholder.
+     */
+    public Volatility getVolatility(String placeholder){
+        return getVolatility();
+    }
+    
     /**
      * Returns the identifier used by this instance.
      *
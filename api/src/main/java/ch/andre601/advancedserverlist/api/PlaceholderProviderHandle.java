@@ -0,0 +1,411 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+import ch.andre601.advancedserverlist.api.internal.JfrEvents;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pre-resolved reference to a {@link PlaceholderProvider PlaceholderProvider} identifier.
+ * <br>Obtain an instance through {@link AdvancedServerListAPI#resolveHandle(String) AdvancedServerListAPI.resolveHandle(String)}.
+ *
+ * <p>The identifier is normalized once when the handle is created, making {@link #getProvider() getProvider()} a simple
+ * field read without any String allocation or map lookup. A handle stays valid for the lifetime of the API instance
+ * and will reflect a provider registered or {@link AdvancedServerListAPI#removePlaceholderProvider(String) removed}
+ * after the handle has been created.
+ *
+ * <p>Calls made through {@link #parsePlaceholder(String, GenericPlayer, GenericServer) parsePlaceholder},
+ * {@link #appendPlaceholder(String, GenericPlayer, GenericServer, StringBuilder) appendPlaceholder},
+ * {@link #parsePlaceholders(Collection, GenericPlayer, GenericServer) parsePlaceholders} and
+ * {@link #resolvePlaceholderAsync(String, GenericPlayer, GenericServer) resolvePlaceholderAsync} are guarded: Exceptions thrown
+ * by the provider are caught, and a provider failing too often is disabled for a while as configured through
+ * {@link CircuitBreakerSettings CircuitBreakerSettings}.
+ * <br>A synchronous call can't be interrupted, so a provider that hangs still blocks the calling thread. Placeholders
+ * that need a hard deadline should be provided through an {@link AsyncPlaceholderProvider AsyncPlaceholderProvider}.
+ * <br>The synchronous methods resolve placeholders of an AsyncPlaceholderProvider through
+ * {@link #resolvePlaceholderAsync(String, GenericPlayer, GenericServer) resolvePlaceholderAsync} and wait for the
+ * result, so that a timeout counts as a failed call as well.
+ */
+public final class PlaceholderProviderHandle{
+    
+    private final String identifier;
+    private volatile PlaceholderProvider provider;
+    private volatile ProviderGuard guard;
+    
+    PlaceholderProviderHandle(String identifier, PlaceholderProvider provider){
+        this.identifier = identifier;
+        this.provider = provider;
+        this.guard = new ProviderGuard(identifier, null);
+    }
+    
+    /**
+     * Returns the normalized (Trimmed and lowercase) identifier this handle points to.
+     *
+     * @return The normalized identifier of this handle.
+     */
+    public String getIdentifier(){
+        return identifier;
+    }
+    
+    /**
+     * Returns the {@link PlaceholderProvider PlaceholderProvider} currently registered for this handle's identifier,
+     * or {@code null} should no such provider be registered.
+     *
+     * @return Possibly-null {@link PlaceholderProvider PlaceholderProvider instance}.
+     */
+    public PlaceholderProvider getProvider(){
+        return provider;
+    }
+    
+    /**
+     * Resolves the placeholder through the current {@link PlaceholderProvider PlaceholderProvider} of this handle.
+     * <br>Returns the {@link CircuitBreakerSettings#fallback() fallback} should the provider be disabled or throw an
+     * exception, and {@code null} should no provider be registered.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return Possibly-null String containing the parsed placeholder.
+     *
+     * @see PlaceholderProvider#parsePlaceholder(String, GenericPlayer, GenericServer)
+     */
+    public String parsePlaceholder(String placeholder, GenericPlayer player, GenericServer server){
+        PlaceholderProvider provider = this.provider;
+        if(provider == null)
+            return null;
+        
+        // The synchronous methods of an AsyncPlaceholderProvider return the fallback on timeout, which has to count
+        // as a failed call.
+        if(provider instanceof AsyncPlaceholderProvider)
+            return resolvePlaceholderAsync(placeholder, player, server).join();
+        
+        ProviderGuard guard = this.guard;
+        int permission = guard.acquire();
+        if(permission != ProviderGuard.ALLOW){
+            if(permission == ProviderGuard.PROBE)
+                guard.probe(() -> provider.parsePlaceholder(placeholder, player, server));
+            
+            return guard.fallback();
+        }
+        
+        Object event = JfrEvents.beginPlaceholderResolve();
+        
+        long start = System.nanoTime();
+        try{
+            String result = provider.parsePlaceholder(placeholder, player, server);
+            guard.onCompleted(start);
+            complete(event, provider, placeholder, false);
+            return result;
+        }catch(RuntimeException | LinkageError ex){
+            guard.onFailure(ex, start);
+            complete(event, provider, placeholder, true);
+            return guard.fallback();
+        }
+    }
+    
+    /**
+     * Appends the result of the placeholder through the current {@link PlaceholderProvider PlaceholderProvider} of this
+     * handle.
+     * <br>Appends the {@link CircuitBreakerSettings#fallback() fallback}, if set, should the provider be disabled or
+     * throw an exception. Anything the provider appended before throwing is removed again.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     * @param  sink
+     *         The {@link StringBuilder StringBuilder} to append the result to.
+     *
+     * @return True if a result or fallback has been appended, otherwise false.
+     *
+     * @see PlaceholderProvider#appendPlaceholder(String, GenericPlayer, GenericServer, StringBuilder)
+     */
+    public boolean appendPlaceholder(String placeholder, GenericPlayer player, GenericServer server, StringBuilder sink){
+        PlaceholderProvider provider = this.provider;
+        if(provider == null)
+            return false;
+        
+        if(provider instanceof AsyncPlaceholderProvider){
+            String result = resolvePlaceholderAsync(placeholder, player, server).join();
+            if(result == null)
+                return false;
+            
+            sink.append(result);
+            return true;
+        }
+        
+        ProviderGuard guard = this.guard;
+        int permission = guard.acquire();
+        if(permission != ProviderGuard.ALLOW){
+            if(permission == ProviderGuard.PROBE)
+                guard.probe(() -> provider.parsePlaceholder(placeholder, player, server));
+            
+            return appendFallback(guard, sink);
+        }
+        
+        Object event = JfrEvents.beginPlaceholderResolve();
+        
+        int length = sink.length();
+        long start = System.nanoTime();
+        try{
+            boolean appended = provider.appendPlaceholder(placeholder, player, server, sink);
+            guard.onCompleted(start);
+            complete(event, provider, placeholder, false);
+            return appended;
+        }catch(RuntimeException | LinkageError ex){
+            guard.onFailure(ex, start);
+            complete(event, provider, placeholder, true);
+            sink.setLength(length);
+            return appendFallback(guard, sink);
+        }
+    }
+    
+    /**
+     * Resolves the placeholders through the current {@link PlaceholderProvider PlaceholderProvider} of this handle.
+     * <br>Each placeholder is mapped to the {@link CircuitBreakerSettings#fallback() fallback} should the provider be
+     * disabled or throw an exception, while {@code null} is returned should no provider be registered.
+     *
+     * @param  placeholders
+     *         The parts of the placeholders after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return Possibly-null Map with each placeholder as key and the parsed String as value.
+     *
+     * @see PlaceholderProvider#parsePlaceholders(Collection, GenericPlayer, GenericServer)
+     */
+    public Map<String, String> parsePlaceholders(Collection<String> placeholders, GenericPlayer player,
+                                                 GenericServer server){
+        PlaceholderProvider provider = this.provider;
+        if(provider == null)
+            return null;
+        
+        if(provider instanceof AsyncPlaceholderProvider)
+            return resolveAllAsync(placeholders, player, server);
+        
+        ProviderGuard guard = this.guard;
+        int permission = guard.acquire();
+        if(permission != ProviderGuard.ALLOW){
+            if(permission == ProviderGuard.PROBE)
+                guard.probe(() -> provider.parsePlaceholders(placeholders, player, server));
+            
+            return fallbacks(guard, placeholders);
+        }
+        
+        Object event = JfrEvents.beginPlaceholderResolve();
+        
+        long start = System.nanoTime();
+        try{
+            Map<String, String> results = provider.parsePlaceholders(placeholders, player, server);
+            guard.onCompleted(start);
+            complete(event, provider, JfrEvents.isEnabled(event) ? String.join(",", placeholders) : null, false);
+            return results;
+        }catch(RuntimeException | LinkageError ex){
+            guard.onFailure(ex, start);
+            complete(event, provider, JfrEvents.isEnabled(event) ? String.join(",", placeholders) : null, true);
+            return fallbacks(guard, placeholders);
+        }
+    }
+    
+    /**
+     * Resolves the placeholder asynchronously through the current {@link PlaceholderProvider PlaceholderProvider} of
+     * this handle.
+     * <br>Placeholders of an {@link AsyncPlaceholderProvider AsyncPlaceholderProvider} are resolved through
+     * {@link AsyncPlaceholderProvider#resolvePlaceholder(String, GenericPlayer, GenericServer) resolvePlaceholder}, with
+     * the time until the returned future completes counting as the call's duration. A future that fails or doesn't
+     * complete within the provider's timeout counts as a failed call. Any other provider is called through
+     * {@link #parsePlaceholder(String, GenericPlayer, GenericServer) parsePlaceholder} on the calling thread.
+     *
+     * <p>Returns a future completed with the {@link CircuitBreakerSettings#fallback() fallback} should the provider be
+     * disabled, and one completed with {@code null} should no provider be registered. The returned future never
+     * completes exceptionally.
+     *
+     * @param  placeholder
+     *         The part of the placeholder after the identifier ({@code ${<identifier> <placeholder>}}
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return CompletableFuture completing with the possibly-null parsed placeholder.
+     *
+     * @see AsyncPlaceholderProvider#resolvePlaceholder(String, GenericPlayer, GenericServer)
+     */
+    public CompletableFuture<String> resolvePlaceholderAsync(String placeholder, GenericPlayer player,
+                                                             GenericServer server){
+        PlaceholderProvider provider = this.provider;
+        if(!(provider instanceof AsyncPlaceholderProvider async))
+            return CompletableFuture.completedFuture(parsePlaceholder(placeholder, player, server));
+        
+        ProviderGuard guard = this.guard;
+        int permission = guard.acquire();
+        if(permission != ProviderGuard.ALLOW){
+            if(permission == ProviderGuard.PROBE)
+                guard.probe(() -> probeAsync(async, placeholder, player, server));
+            
+            return CompletableFuture.completedFuture(guard.fallback());
+        }
+        
+        Object event = JfrEvents.beginPlaceholderResolve();
+        
+        long start = System.nanoTime();
+        return async.resolvePlaceholder(placeholder, player, server, error -> {
+            if(error == null){
+                guard.onCompleted(start);
+            }else{
+                guard.onFailure(error, start);
+            }
+            
+            complete(event, provider, placeholder, error != null);
+        });
+    }
+    
+    /**
+     * Returns the current {@link ProviderHealth health} of the provider registered for this handle.
+     *
+     * @return The ProviderHealth of this handle's provider.
+     */
+    public ProviderHealth getHealth(){
+        return guard.health();
+    }
+    
+    /**
+     * Returns the current {@link ProviderMetrics metrics} of the provider registered for this handle.
+     *
+     * @param  reset
+     *         Whether the metrics should be reset after being read.
+     *
+     * @return The ProviderMetrics of this handle's provider.
+     */
+    public ProviderMetrics getMetrics(boolean reset){
+        return guard.metrics(reset);
+    }
+    
+    /**
+     * Returns the {@link CircuitBreakerSettings CircuitBreakerSettings} used for the provider of this handle.
+     * <br>These are either the settings set for this provider only, or the ones set for all providers otherwise.
+     *
+     * @return The CircuitBreakerSettings used for this handle's provider.
+     */
+    public CircuitBreakerSettings getCircuitBreakerSettings(){
+        return guard.settings();
+    }
+    
+    synchronized void setCircuitBreakerSettings(CircuitBreakerSettings settings){
+        guard.overrideSettings(settings);
+    }
+    
+    // Synchronized to not lose settings set while the guard is replaced.
+    synchronized void setProvider(PlaceholderProvider provider){
+        this.guard = new ProviderGuard(identifier, guard.overrideSettings());
+        this.provider = provider;
+    }
+    
+    /*
+     * Only called for ASCII characters, which are lower-cased the same way as by String.toLowerCase(Locale.ROOT).
+     */
+    boolean matches(CharSequence chars, int start, int end){
+        if(end - start != identifier.length())
+            return false;
+        
+        for(int i = 0; i < identifier.length(); i++){
+            char c = chars.charAt(start + i);
+            if((c >= 'A' && c <= 'Z' ? (char)(c + ('a' - 'A')) : c) != identifier.charAt(i))
+                return false;
+        }
+        
+        return true;
+    }
+    
+    // CachingPlaceholderProvider emits its own event, knowing whether the result was cached.
+    private void complete(Object event, PlaceholderProvider provider, String placeholder, boolean failed){
+        if(!(provider instanceof CachingPlaceholderProvider))
+            JfrEvents.completePlaceholderResolve(event, identifier, placeholder, false, failed);
+    }
+    
+    // Resolves the placeholders concurrently, waiting at most about the timeout of the provider.
+    private Map<String, String> resolveAllAsync(Collection<String> placeholders, GenericPlayer player,
+                                                GenericServer server){
+        Map<String, CompletableFuture<String>> futures = new HashMap<>(placeholders.size() * 2);
+        for(String placeholder : placeholders){
+            futures.computeIfAbsent(placeholder, key -> resolvePlaceholderAsync(key, player, server));
+        }
+        
+        Map<String, String> results = new HashMap<>(futures.size() * 2);
+        for(Map.Entry<String, CompletableFuture<String>> entry : futures.entrySet()){
+            results.put(entry.getKey(), entry.getValue().join());
+        }
+        
+        return results;
+    }
+    
+    // The future of an AsyncPlaceholderProvider never fails, so failures are rethrown for the probe to notice them.
+    private static void probeAsync(AsyncPlaceholderProvider provider, String placeholder, GenericPlayer player,
+                                   GenericServer server){
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        provider.resolvePlaceholder(placeholder, player, server, failure::set).join();
+        
+        if(failure.get() != null)
+            throw new CompletionException(failure.get());
+    }
+    
+    private static boolean appendFallback(ProviderGuard guard, StringBuilder sink){
+        String fallback = guard.fallback();
+        if(fallback == null)
+            return false;
+        
+        sink.append(fallback);
+        return true;
+    }
+    
+    private static Map<String, String> fallbacks(ProviderGuard guard, Collection<String> placeholders){
+        String fallback = guard.fallback();
+        if(fallback == null)
+            return null;
+        
+        Map<String, String> results = new HashMap<>(placeholders.size() * 2);
+        for(String placeholder : placeholders){
+            results.put(placeholder, fallback);
+        }
+        
+        return results;
+    }
+}
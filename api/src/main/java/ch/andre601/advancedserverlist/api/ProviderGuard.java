@@ -0,0 +1,203 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+import ch.andre601.advancedserverlist.api.internal.LatencyHistogram;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker and metrics recorder tracking the calls of a single {@link PlaceholderProvider PlaceholderProvider}.
+ *
+ * <p>Callers {@link #acquire() acquire} permission before calling the provider and report the outcome through
+ * {@link #onCompleted(long) onCompleted} or {@link #onFailure(Throwable, long) onFailure}. Should {@code acquire} return
+ * {@link #PROBE PROBE} is the caller expected to pass the call to {@link #probe(Runnable) probe} instead, which runs
+ * it in the background.
+ */
+final class ProviderGuard{
+    
+    static final int ALLOW = 0;
+    static final int REJECT = 1;
+    static final int PROBE = 2;
+    
+    private final String identifier;
+    private final AtomicReference<ProviderHealth.State> state = new AtomicReference<>(ProviderHealth.State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    
+    // A single thread per provider, so that a hanging probe can't prevent other providers from being probed. Should the
+    // previous probe still hang is the next one rejected, reopening the breaker.
+    private final Executor probes;
+    
+    private volatile CircuitBreakerSettings settings;
+    private volatile long openedAt = 0L;
+    private volatile Throwable lastError = null;
+    
+    ProviderGuard(String identifier, CircuitBreakerSettings settings){
+        this.identifier = identifier;
+        this.settings = settings;
+        this.probes = new ThreadPoolExecutor(0, 1, 30L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "AdvancedServerList-ProviderProbe-" + identifier);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    int acquire(){
+        ProviderHealth.State current = state.get();
+        if(current == ProviderHealth.State.CLOSED)
+            return ALLOW;
+        
+        rejected.increment();
+        if(current == ProviderHealth.State.OPEN
+            && System.nanoTime() - openedAt >= settings().openDuration().toNanos()
+            && state.compareAndSet(ProviderHealth.State.OPEN, ProviderHealth.State.PROBING))
+            return PROBE;
+        
+        return REJECT;
+    }
+    
+    void onCompleted(long startNanos){
+        if(settings().isSlowCall(record(startNanos))){
+            recordFailure(null);
+        }else{
+            consecutiveFailures.set(0);
+        }
+    }
+    
+    void onFailure(Throwable error, long startNanos){
+        record(startNanos);
+        errors.increment();
+        recordFailure(error);
+    }
+    
+    /*
+     * Runs the call in the background, closing the breaker should it succeed and reopening it otherwise. A probe that
+     * doesn't return within the probe timeout counts as failed, even though it keeps running.
+     */
+    void probe(Runnable call){
+        CompletableFuture<Void> probe;
+        long start = System.nanoTime();
+        try{
+            probe = CompletableFuture.runAsync(call, probes);
+        }catch(RejectedExecutionException ex){
+            reopen();
+            return;
+        }
+        
+        probe.orTimeout(settings().probeTimeoutNanos(), TimeUnit.NANOSECONDS).whenComplete((ignored, ex) -> {
+            long elapsed = record(start);
+            Throwable error = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if(error != null){
+                if(!(error instanceof TimeoutException))
+                    errors.increment();
+                
+                failures.increment();
+                lastError = error;
+                reopen();
+            }else if(settings().isSlowCall(elapsed)){
+                failures.increment();
+                reopen();
+            }else{
+                consecutiveFailures.set(0);
+                state.set(ProviderHealth.State.CLOSED);
+            }
+        });
+    }
+    
+    /*
+     * Returns the settings set for this provider only, or null should the global ones be used.
+     */
+    CircuitBreakerSettings overrideSettings(){
+        return settings;
+    }
+    
+    void overrideSettings(CircuitBreakerSettings settings){
+        this.settings = settings;
+    }
+    
+    CircuitBreakerSettings settings(){
+        CircuitBreakerSettings settings = this.settings;
+        return settings == null ? AdvancedServerListAPI.get().getCircuitBreakerSettings() : settings;
+    }
+    
+    String fallback(){
+        return settings().fallback();
+    }
+    
+    ProviderHealth health(){
+        return new ProviderHealth(identifier, state.get(), consecutiveFailures.get(), failures.sum(), rejected.sum(),
+            lastError);
+    }
+    
+    ProviderMetrics metrics(boolean reset){
+        long[] counts = latencies.counts(reset);
+        long calls = reset ? this.calls.sumThenReset() : this.calls.sum();
+        long errors = reset ? this.errors.sumThenReset() : this.errors.sum();
+        
+        return new ProviderMetrics(identifier, calls, errors, LatencyHistogram.percentile(counts, 0.5),
+            LatencyHistogram.percentile(counts, 0.99), LatencyHistogram.percentile(counts, 0.999),
+            LatencyHistogram.max(counts));
+    }
+    
+    private long record(long startNanos){
+        long elapsed = System.nanoTime() - startNanos;
+        calls.increment();
+        latencies.record(elapsed);
+        
+        return elapsed;
+    }
+    
+    private void recordFailure(Throwable error){
+        failures.increment();
+        if(error != null)
+            lastError = error;
+        
+        if(consecutiveFailures.incrementAndGet() >= settings().failureThreshold()
+            && state.get() == ProviderHealth.State.CLOSED){
+            openedAt = System.nanoTime();
+            state.compareAndSet(ProviderHealth.State.CLOSED, ProviderHealth.State.OPEN);
+        }
+    }
+    
+    private void reopen(){
+        openedAt = System.nanoTime();
+        state.set(ProviderHealth.State.OPEN);
+    }
+}
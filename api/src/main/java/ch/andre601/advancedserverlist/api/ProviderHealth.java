@@ -0,0 +1,79 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+/**
+ * Snapshot of the health of a registered {@link PlaceholderProvider PlaceholderProvider}.
+ * <br>Use {@link AdvancedServerListAPI#getProviderHealth(String) AdvancedServerListAPI.getProviderHealth(String)} to
+ * retrieve the current health of a provider.
+ *
+ * @param identifier
+ *        The identifier of the provider.
+ * @param state
+ *        The {@link State State} of the provider.
+ * @param consecutiveFailures
+ *        Number of calls that failed in a row since the last successful call.
+ * @param failureCount
+ *        Total number of failed calls.
+ * @param rejectedCount
+ *        Total number of calls answered with the fallback due to the provider being disabled.
+ * @param lastError
+ *        The exception thrown by the last call that failed with one, or {@code null} if none did.
+ *
+ * @see CircuitBreakerSettings
+ */
+public record ProviderHealth(String identifier, State state, int consecutiveFailures, long failureCount,
+                             long rejectedCount, Throwable lastError){
+    
+    /**
+     * Returns whether the provider is currently called for placeholders.
+     *
+     * @return True if the provider's state is {@link State#CLOSED CLOSED}, otherwise false.
+     */
+    public boolean isHealthy(){
+        return state == State.CLOSED;
+    }
+    
+    /**
+     * States a provider can be in.
+     */
+    public enum State{
+        
+        /**
+         * The provider is called normally.
+         */
+        CLOSED,
+        
+        /**
+         * The provider failed too often and is disabled until it is probed again.
+         */
+        OPEN,
+        
+        /**
+         * The provider is disabled and currently being probed in the background.
+         */
+        PROBING
+    }
+}
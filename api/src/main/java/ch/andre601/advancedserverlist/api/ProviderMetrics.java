@@ -0,0 +1,82 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+import java.time.Duration;
+
+/**
+ * Snapshot of the calls made to a registered {@link PlaceholderProvider PlaceholderProvider}.
+ * <br>Use {@link AdvancedServerListAPI#getProviderMetrics(String) AdvancedServerListAPI.getProviderMetrics(String)} to
+ * retrieve the metrics of a provider.
+ *
+ * <p>Metrics cover all calls since the provider has been registered or since the metrics were last
+ * {@link AdvancedServerListAPI#resetProviderMetrics() reset}. Latencies are measured in nanoseconds and have a relative
+ * error of up to 12.5%.
+ *
+ * @param identifier
+ *        The identifier of the provider.
+ * @param calls
+ *        Number of calls made to the provider, including failed ones.
+ * @param errors
+ *        Number of calls in which the provider threw an exception.
+ * @param p50Nanos
+ *        The median latency of all calls in nanoseconds.
+ * @param p99Nanos
+ *        The 99th percentile latency of all calls in nanoseconds.
+ * @param p999Nanos
+ *        The 99.9th percentile latency of all calls in nanoseconds.
+ * @param maxNanos
+ *        The highest latency of all calls in nanoseconds.
+ */
+public record ProviderMetrics(String identifier, long calls, long errors, long p50Nanos, long p99Nanos,
+                              long p999Nanos, long maxNanos){
+    
+    /**
+     * Returns the median latency of all calls.
+     *
+     * @return The median latency as {@link Duration Duration}.
+     */
+    public Duration p50(){
+        return Duration.ofNanos(p50Nanos);
+    }
+    
+    /**
+     * Returns the 99th percentile latency of all calls.
+     *
+     * @return The 99th percentile latency as {@link Duration Duration}.
+     */
+    public Duration p99(){
+        return Duration.ofNanos(p99Nanos);
+    }
+    
+    /**
+     * Returns the 99.9th percentile latency of all calls.
+     *
+     * @return The 99.9th percentile latency as {@link Duration Duration}.
+     */
+    public Duration p999(){
+        return Duration.ofNanos(p999Nanos);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api;
+
+/**
+ * Enum used by a {@link PlaceholderProvider PlaceholderProvider} to declare what the result of a placeholder depends on.
+ * <br>Values are ordered from the least to the most volatile one.
+ *
+ * @see PlaceholderProvider#getVolatility(String)
+ */
+public enum Volatility{
+    
+    /**
+     * The result never changes.
+     * <br>Placeholders with this volatility are resolved once when a text is compiled, using {@code null} for both the
+     * player and server.
+     */
+    CONSTANT,
+    
+    /**
+     * The result changes over time, but is the same for every ping at a given time.
+     */
+    TIMED,
+    
+    /**
+     * The result depends on the state of the server, such as the number of players online, but not on the player
+     * pinging it.
+     */
+    SERVER,
+    
+    /**
+     * The result depends on the player pinging the server.
+     */
+    PLAYER;
+    
+    /**
+     * Returns the more volatile one of this and the provided Volatility.
+     *
+     * @param  other
+     *         The Volatility to compare with.
+     *
+     * @return The more volatile Volatility of the two.
+     */
+    public Volatility max(Volatility other){
+        return other.ordinal() > ordinal() ? other : this;
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.cache;
+
+import ch.andre601.advancedserverlist.api.Volatility;
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.ExpiringCache;
+import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache for fully encoded server list responses.
+ * <br>Responses are cached per {@link ProfileEntry ProfileEntry} and
+ * {@link ch.andre601.advancedserverlist.api.objects.GenericPlayer#getProtocol() protocol version}, allowing a ping to
+ * be answered without encoding the same response again.
+ *
+ * <p>Entries are {@link ProfileEntry#intern() interned} once when a response is stored, and the cached responses are
+ * keyed by the identity of the interned entry. A lookup with the interned instance, such as the one passed to the
+ * encoder, therefore costs a single identity check. Lookups with another, equal instance don't find the cached
+ * response through {@link #get(ProfileEntry, int) get}, while {@link #getOrEncode(ProfileEntry, int, Duration, Function) getOrEncode}
+ * interns such an instance before encoding it again.
+ *
+ * <p>Each response is cached for a time to live, which is either provided when it was added or derived from the
+ * {@link Volatility Volatility} of the entry's texts, as reported by
+ * {@link ch.andre601.advancedserverlist.api.templates.ProfileTemplate#getVolatility() ProfileTemplate.getVolatility()}.
+ * The cache holds at most {@code maxSize} responses.
+ *
+ * <p>The type of the payload is up to the platform. Should a mutable payload such as a
+ * {@link java.nio.ByteBuffer ByteBuffer} be cached, make sure to only hand out
+ * {@link java.nio.ByteBuffer#duplicate() duplicates} of it.
+ *
+ * @param <T>
+ *        The type of the encoded response.
+ */
+public class StatusResponseCache<T>{
+    
+    private final ExpiringCache<Key, T> cache;
+    private final long constantTtlNanos;
+    private final long refreshTtlNanos;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * Creates a new StatusResponseCache holding at most the provided number of responses.
+     * <br>Responses of {@link Volatility#CONSTANT CONSTANT} entries are cached for 5 minutes, while responses of
+     * {@link Volatility#TIMED TIMED} and {@link Volatility#SERVER SERVER} entries are cached for 1 second.
+     *
+     * @param maxSize
+     *        The maximum number of responses to cache. Needs to be positive.
+     *
+     * @throws IllegalArgumentException
+     *         When maxSize is not positive.
+     */
+    public StatusResponseCache(int maxSize){
+        this(maxSize, Duration.ofMinutes(5), Duration.ofSeconds(1));
+    }
+    
+    /**
+     * Creates a new StatusResponseCache holding at most the provided number of responses.
+     *
+     * @param maxSize
+     *        The maximum number of responses to cache. Needs to be positive.
+     * @param constantTtl
+     *        How long responses of {@link Volatility#CONSTANT CONSTANT} entries are cached for. Needs to be positive.
+     * @param refreshTtl
+     *        How long responses of {@link Volatility#TIMED TIMED} and {@link Volatility#SERVER SERVER} entries are
+     *        cached for. Needs to be positive.
+     *
+     * @throws IllegalArgumentException
+     *         When maxSize is not positive, or a Duration is null or not positive.
+     */
+    public StatusResponseCache(int maxSize, Duration constantTtl, Duration refreshTtl){
+        CheckUtil.isNull("ConstantTTL", constantTtl);
+        CheckUtil.isNull("RefreshTTL", refreshTtl);
+        
+        if(constantTtl.isNegative() || constantTtl.isZero() || refreshTtl.isNegative() || refreshTtl.isZero())
+            throw new IllegalArgumentException("TTLs need to be positive!");
+        
+        this.cache = new ExpiringCache<>(maxSize);
+        this.constantTtlNanos = constantTtl.toNanos();
+        this.refreshTtlNanos = refreshTtl.toNanos();
+    }
+    
+    /**
+     * Returns the cached response for the provided ProfileEntry and protocol version, or {@code null} should no valid
+     * response be cached.
+     * <br>Entries are compared by identity, meaning the interned instance of the entry needs to be provided.
+     *
+     * @param  entry
+     *         The {@link ProfileEntry ProfileEntry} the response was encoded from.
+     * @param  protocol
+     *         The protocol version the response was encoded for.
+     *
+     * @return Possibly-null cached response.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided ProfileEntry is null.
+     */
+    public T get(ProfileEntry entry, int protocol){
+        CheckUtil.isNull("ProfileEntry", entry);
+        
+        return count(cache.peek(new Key(entry, protocol)));
+    }
+    
+    /**
+     * Returns the cached response for the provided ProfileEntry and protocol version, or encodes, caches and returns a
+     * new one should no valid response be cached.
+     * <br>Should the entry not be the interned instance will it be interned, finding a response cached for an equal
+     * entry.
+     *
+     * @param  entry
+     *         The {@link ProfileEntry ProfileEntry} to encode.
+     * @param  protocol
+     *         The protocol version to encode the response for.
+     * @param  ttl
+     *         How long a newly encoded response should be cached for.
+     * @param  encoder
+     *         Function used to encode the ProfileEntry into a response. Receives the interned entry.
+     *
+     * @return The cached or newly encoded response.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided ProfileEntry, ttl or encoder is null.
+     */
+    public T getOrEncode(ProfileEntry entry, int protocol, Duration ttl, Function<ProfileEntry, T> encoder){
+        CheckUtil.isNull("ProfileEntry", entry);
+        CheckUtil.isNull("TTL", ttl);
+        CheckUtil.isNull("Encoder", encoder);
+        
+        return getOrEncode(entry, protocol, ttl.toNanos(), encoder);
+    }
+    
+    /**
+     * Returns the cached response for the provided ProfileEntry and protocol version, or encodes, caches and returns a
+     * new one should no valid response be cached, deriving the time to live from the provided {@link Volatility Volatility}.
+     * <br>Responses of {@link Volatility#PLAYER PLAYER} entries are encoded without being cached, as such entries are
+     * rarely requested again.
+     *
+     * <p>The Volatility should be the one of the template the entry was rendered from, as reported by
+     * {@link ch.andre601.advancedserverlist.api.templates.ProfileTemplate#getVolatility() ProfileTemplate.getVolatility()}.
+     *
+     * @param  entry
+     *         The {@link ProfileEntry ProfileEntry} to encode.
+     * @param  protocol
+     *         The protocol version to encode the response for.
+     * @param  volatility
+     *         The Volatility of the entry's texts.
+     * @param  encoder
+     *         Function used to encode the ProfileEntry into a response.
+     *
+     * @return The cached or newly encoded response.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided ProfileEntry, volatility or encoder is null.
+     */
+    public T getOrEncode(ProfileEntry entry, int protocol, Volatility volatility, Function<ProfileEntry, T> encoder){
+        CheckUtil.isNull("ProfileEntry", entry);
+        CheckUtil.isNull("Volatility", volatility);
+        CheckUtil.isNull("Encoder", encoder);
+        
+        return switch(volatility){
+            case CONSTANT -> getOrEncode(entry, protocol, constantTtlNanos, encoder);
+            case TIMED, SERVER -> getOrEncode(entry, protocol, refreshTtlNanos, encoder);
+            case PLAYER -> encoder.apply(entry);
+        };
+    }
+    
+    /**
+     * Caches the response for the provided ProfileEntry and protocol version, replacing any previously cached one.
+     *
+     * @param entry
+     *        The {@link ProfileEntry ProfileEntry} the response was encoded from.
+     * @param protocol
+     *        The protocol version the response was encoded for.
+     * @param response
+     *        The encoded response.
+     * @param ttl
+     *        How long the response should be cached for.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided ProfileEntry or ttl is null.
+     */
+    public void put(ProfileEntry entry, int protocol, T response, Duration ttl){
+        CheckUtil.isNull("ProfileEntry", entry);
+        CheckUtil.isNull("TTL", ttl);
+        
+        cache.put(new Key(entry.intern(), protocol), response, ttl.toNanos());
+    }
+    
+    /**
+     * Removes all cached responses.
+     * <br>Should be called whenever the configuration is reloaded.
+     */
+    public void invalidateAll(){
+        cache.invalidateAll();
+    }
+    
+    /**
+     * Returns the number of cached responses, including expired ones not yet removed.
+     *
+     * @return Number of cached responses.
+     */
+    public int size(){
+        return cache.size();
+    }
+    
+    /**
+     * Returns how often a valid cached response could be returned.
+     *
+     * @return Number of cache hits.
+     */
+    public long getHitCount(){
+        return hits.sum();
+    }
+    
+    /**
+     * Returns how often no valid cached response was present.
+     *
+     * @return Number of cache misses.
+     */
+    public long getMissCount(){
+        return misses.sum();
+    }
+    
+    /*
+     * The entry is only interned should it not be the interned instance already, which is found through a single
+     * identity lookup.
+     */
+    private T getOrEncode(ProfileEntry entry, int protocol, long ttlNanos, Function<ProfileEntry, T> encoder){
+        Key key = new Key(entry, protocol);
+        T cached = cache.peek(key);
+        if(cached == null){
+            ProfileEntry canonical = entry.intern();
+            if(canonical != entry){
+                key = new Key(canonical, protocol);
+                cached = cache.peek(key);
+            }
+        }
+        
+        if(count(cached) != null)
+            return cached;
+        
+        T response = encoder.apply(key.entry());
+        cache.put(key, response, ttlNanos);
+        
+        return response;
+    }
+    
+    private T count(T cached){
+        (cached == null ? misses : hits).increment();
+        return cached;
+    }
+    
+    // Entries are interned, so identity comparison is enough.
+    private record Key(ProfileEntry entry, int protocol){
+        
+        @Override
+        public boolean equals(Object obj){
+            return obj instanceof Key other && other.entry == entry && other.protocol == protocol;
+        }
+        
+        @Override
+        public int hashCode(){
+            return 31 * System.identityHashCode(entry) + protocol;
+        }
+    }
+}
@@ -0,0 +1,298 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.conditions;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiPredicate;
+
+/**
+ * Condition evaluated against a {@link GenericPlayer GenericPlayer} and {@link GenericServer GenericServer} to decide
+ * whether a profile should be used.
+ *
+ * <p>Conditions are created through the static methods of this interface and combined using
+ * {@link #and(Condition...) and} and {@link #or(Condition...) or}. Combined conditions are flattened and ordered by
+ * their {@link #cost() cost} when created, so that cheap comparisons are evaluated first and expensive ones are skipped
+ * whenever possible.
+ * <br>Protocol and host conditions are also used by the {@link ProfileSelector ProfileSelector} to skip profiles
+ * without evaluating them at all.
+ *
+ * <h4>Example</h4>
+ * <pre>{@code
+ * Condition condition = Condition.and(
+ *     Condition.host("play.example.com"),
+ *     Condition.protocolAtLeast(ProtocolVersions.getProtocol("1.19")),
+ *     Condition.playersOnlineBelow(100)
+ * );
+ * }</pre>
+ */
+public interface Condition{
+    
+    /**
+     * Cost of conditions comparing a single primitive value.
+     */
+    int COST_PRIMITIVE = 1;
+    
+    /**
+     * Cost of conditions comparing a String.
+     */
+    int COST_STRING = 2;
+    
+    /**
+     * Default cost of custom conditions.
+     */
+    int COST_CUSTOM = 10;
+    
+    /**
+     * Evaluates this condition.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return True if the condition is met, otherwise false.
+     */
+    boolean test(GenericPlayer player, GenericServer server);
+    
+    /**
+     * Returns the estimated relative cost of evaluating this condition, used to decide the order in which combined
+     * conditions are evaluated.
+     * <br>Defaults to {@link #COST_CUSTOM COST_CUSTOM}.
+     *
+     * @return The estimated cost of this condition.
+     */
+    default int cost(){
+        return COST_CUSTOM;
+    }
+    
+    /**
+     * Returns a condition that is always met.
+     *
+     * @return Condition that is always met.
+     */
+    static Condition always(){
+        return Conditions.Always.INSTANCE;
+    }
+    
+    /**
+     * Returns a condition met when the player's protocol version is between min and max (both inclusive).
+     *
+     * @param  min
+     *         The lowest protocol version to accept.
+     * @param  max
+     *         The highest protocol version to accept.
+     *
+     * @return Condition checking the protocol version of the player.
+     */
+    static Condition protocolBetween(int min, int max){
+        return new Conditions.ProtocolRange(min, max);
+    }
+    
+    /**
+     * Returns a condition met when the player's protocol version is the provided one or higher.
+     *
+     * @param  min
+     *         The lowest protocol version to accept.
+     *
+     * @return Condition checking the protocol version of the player.
+     */
+    static Condition protocolAtLeast(int min){
+        return new Conditions.ProtocolRange(min, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Returns a condition met when the player's protocol version is the provided one or lower.
+     *
+     * @param  max
+     *         The highest protocol version to accept.
+     *
+     * @return Condition checking the protocol version of the player.
+     */
+    static Condition protocolAtMost(int max){
+        return new Conditions.ProtocolRange(Integer.MIN_VALUE, max);
+    }
+    
+    /**
+     * Returns a condition met when the pinged {@link GenericServer#getHost() host} equals the provided one, ignoring
+     * case.
+     *
+     * @param  host
+     *         The host to accept.
+     *
+     * @return Condition checking the pinged host.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided host is null.
+     */
+    static Condition host(String host){
+        CheckUtil.isNull("Host", host);
+        
+        return new Conditions.Host(host.toLowerCase(Locale.ROOT));
+    }
+    
+    /**
+     * Returns a condition met when the number of players online is the provided one or higher.
+     *
+     * @param  count
+     *         The lowest number of players online to accept.
+     *
+     * @return Condition checking the number of players online.
+     */
+    static Condition playersOnlineAtLeast(int count){
+        return new Conditions.PlayersOnline(count, Integer.MAX_VALUE + 1L);
+    }
+    
+    /**
+     * Returns a condition met when the number of players online is lower than the provided one.
+     *
+     * @param  count
+     *         The number of players online to stay below.
+     *
+     * @return Condition checking the number of players online.
+     */
+    static Condition playersOnlineBelow(int count){
+        return new Conditions.PlayersOnline(Integer.MIN_VALUE, count);
+    }
+    
+    /**
+     * Returns a condition evaluating the provided predicate.
+     *
+     * @param  predicate
+     *         The predicate to evaluate.
+     * @param  cost
+     *         The estimated relative cost of the predicate.
+     *
+     * @return Condition evaluating the predicate.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided predicate is null.
+     */
+    static Condition of(BiPredicate<GenericPlayer, GenericServer> predicate, int cost){
+        CheckUtil.isNull("Predicate", predicate);
+        
+        return new Conditions.Custom(predicate, cost);
+    }
+    
+    /**
+     * Returns a condition met when the provided condition is not met.
+     *
+     * @param  condition
+     *         The condition to negate.
+     *
+     * @return Negated condition.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided condition is null.
+     */
+    static Condition not(Condition condition){
+        CheckUtil.isNull("Condition", condition);
+        
+        if(condition instanceof Conditions.Not not)
+            return not.condition();
+        
+        return new Conditions.Not(condition);
+    }
+    
+    /**
+     * Returns a condition met when all provided conditions are met.
+     * <br>Nested conditions created through this method are flattened and all conditions ordered by their
+     * {@link #cost() cost}.
+     *
+     * @param  conditions
+     *         The conditions that need to be met.
+     *
+     * @return Condition met when all provided conditions are met.
+     *
+     * @throws IllegalArgumentException
+     *         When any of the provided conditions is null.
+     */
+    static Condition and(Condition... conditions){
+        List<Condition> flattened = new ArrayList<>();
+        for(Condition condition : conditions){
+            CheckUtil.isNull("Condition", condition);
+            
+            if(condition instanceof Conditions.And and){
+                flattened.addAll(Arrays.asList(and.conditions()));
+            }else if(condition != Conditions.Always.INSTANCE){
+                flattened.add(condition);
+            }
+        }
+        
+        if(flattened.isEmpty())
+            return always();
+        
+        if(flattened.size() == 1)
+            return flattened.get(0);
+        
+        flattened.sort(Comparator.comparingInt(Condition::cost));
+        return new Conditions.And(flattened.toArray(new Condition[0]));
+    }
+    
+    /**
+     * Returns a condition met when at least one of the provided conditions is met.
+     * <br>Nested conditions created through this method are flattened and all conditions ordered by their
+     * {@link #cost() cost}.
+     *
+     * @param  conditions
+     *         The conditions of which at least one needs to be met.
+     *
+     * @return Condition met when at least one of the provided conditions is met.
+     *
+     * @throws IllegalArgumentException
+     *         When no conditions are provided or any of them is null.
+     */
+    static Condition or(Condition... conditions){
+        if(conditions.length == 0)
+            throw new IllegalArgumentException("At least one Condition is required!");
+        
+        List<Condition> flattened = new ArrayList<>();
+        for(Condition condition : conditions){
+            CheckUtil.isNull("Condition", condition);
+            
+            if(condition == Conditions.Always.INSTANCE)
+                return always();
+            
+            if(condition instanceof Conditions.Or or){
+                flattened.addAll(Arrays.asList(or.conditions()));
+            }else{
+                flattened.add(condition);
+            }
+        }
+        
+        if(flattened.size() == 1)
+            return flattened.get(0);
+        
+        flattened.sort(Comparator.comparingInt(Condition::cost));
+        return new Conditions.Or(flattened.toArray(new Condition[0]));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.conditions;
+
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+
+import java.util.function.BiPredicate;
+
+/**
+ * Implementations of the {@link Condition Condition} interface.
+ */
+final class Conditions{
+    
+    private Conditions(){}
+    
+    enum Always implements Condition{
+        INSTANCE;
+        
+        @Override
+        public boolean test(GenericPlayer player, GenericServer server){
+            return true;
+        }
+        
+        @Override
+        public int cost(){
+            return 0;
+        }
+    }
+    
+    record ProtocolRange(int min, int max) implements Condition{
+        
+        @Override
+        public boolean test(GenericPlayer player, GenericServer server){
+            int protocol = player.getProtocol();
+            return protocol >= min && protocol <= max;
+        }
+        
+        @Override
+        public int cost(){
+            return COST_PRIMITIVE;
+        }
+    }
+    
+    // The upper bound is exclusive and a long, so that no bound needs to be adjusted in a way that could overflow.
+    record PlayersOnline(int min, long maxExclusive) implements Condition{
+        
+        @Override
+        public boolean test(GenericPlayer player, GenericServer server){
+            int online = server.getPlayersOnline();
+            return online >= min && online < maxExclusive;
+        }
+        
+        @Override
+        public int cost(){
+            return COST_PRIMITIVE;
+        }
+    }
+    
+    record Host(String host) implements Condition{
+        
+        @Override
+        public boolean test(GenericPlayer player, GenericServer server){
+            return host.equalsIgnoreCase(server.getHost());
+        }
+        
+        @Override
+        public int cost(){
+            return COST_STRING;
+        }
+    }
+    
+    record Custom(BiPredicate<GenericPlayer, GenericServer> predicate, int cost) implements Condition{
+        
+        @Override
+        public boolean test(GenericPlayer player, GenericServer server){
+            return predicate.test(player, server);
+        }
+    }
+    
+    record Not(Condition condition) implements Condition{
+        
+        @Override
+        public boolean test(GenericPlayer player, GenericServer server){
+            return !condition.test(player, server);
+        }
+        
+        @Override
+        public int cost(){
+            return condition.cost();
+        }
+    }
+    
+    record And(Condition[] conditions) implements Condition{
+        
+        @Override
+        public boolean test(GenericPlayer player, GenericServer server){
+            for(Condition condition : conditions){
+                if(!condition.test(player, server))
+                    return false;
+            }
+            
+            return true;
+        }
+        
+        @Override
+        public int cost(){
+            int cost = 0;
+            for(Condition condition : conditions)
+                cost += condition.cost();
+            
+            return cost;
+        }
+    }
+    
+    record Or(Condition[] conditions) implements Condition{
+        
+        @Override
+        public boolean test(GenericPlayer player, GenericServer server){
+            for(Condition condition : conditions){
+                if(condition.test(player, server))
+                    return true;
+            }
+            
+            return false;
+        }
+        
+        @Override
+        public int cost(){
+            int cost = 0;
+            for(Condition condition : conditions)
+                cost += condition.cost();
+            
+            return cost;
+        }
+    }
+}
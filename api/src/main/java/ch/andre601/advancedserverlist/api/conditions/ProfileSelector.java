@@ -0,0 +1,251 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.conditions;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Selects the first value whose {@link Condition Condition} is met for a ping.
+ *
+ * <p>Values are checked in the order they were added to the {@link Builder Builder}, meaning values added first take
+ * priority.
+ * <br>When built, the selector extracts host and protocol conditions that every value requires. A single lookup
+ * of the pinged host narrows the values down to the ones either requiring this host or no host at all, and a range
+ * check on the player's protocol skips values that can't match before their full condition is evaluated.
+ *
+ * <p>Instances of this class are immutable and safe to share between threads.
+ *
+ * @param <T>
+ *        The type of value selected, usually a {@link ch.andre601.advancedserverlist.api.profiles.ProfileEntry ProfileEntry}.
+ */
+public final class ProfileSelector<T>{
+    
+    private static final int[] EMPTY = new int[0];
+    
+    private final Condition[] conditions;
+    private final Object[] values;
+    private final int[] minProtocols;
+    private final int[] maxProtocols;
+    private final Map<String, int[]> hostCandidates;
+    private final int[] anyHostCandidates;
+    
+    private ProfileSelector(List<Condition> conditions, List<T> values){
+        int size = conditions.size();
+        
+        this.conditions = conditions.toArray(new Condition[0]);
+        this.values = values.toArray();
+        this.minProtocols = new int[size];
+        this.maxProtocols = new int[size];
+        
+        String[] hosts = new String[size];
+        Set<String> knownHosts = new LinkedHashSet<>();
+        List<Integer> anyHost = new ArrayList<>();
+        for(int i = 0; i < size; i++){
+            Requirements requirements = Requirements.of(this.conditions[i]);
+            
+            minProtocols[i] = requirements.minProtocol;
+            maxProtocols[i] = requirements.maxProtocol;
+            hosts[i] = requirements.host;
+            
+            if(requirements.host == null){
+                anyHost.add(i);
+            }else{
+                knownHosts.add(requirements.host);
+            }
+        }
+        
+        this.anyHostCandidates = toArray(anyHost);
+        
+        Map<String, int[]> hostCandidates = new HashMap<>();
+        for(String host : knownHosts){
+            List<Integer> candidates = new ArrayList<>();
+            for(int i = 0; i < size; i++){
+                if(hosts[i] == null || hosts[i].equals(host))
+                    candidates.add(i);
+            }
+            
+            hostCandidates.put(host, toArray(candidates));
+        }
+        
+        this.hostCandidates = Map.copyOf(hostCandidates);
+    }
+    
+    /**
+     * Creates a new {@link Builder Builder} used to create a ProfileSelector.
+     *
+     * @param  <T>
+     *         The type of value selected.
+     *
+     * @return New Builder instance.
+     */
+    public static <T> Builder<T> builder(){
+        return new Builder<>();
+    }
+    
+    /**
+     * Returns the first value whose condition is met for the provided player and server, or null if none matched.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return The first matching value, or null if none matched.
+     */
+    @SuppressWarnings("unchecked")
+    public T select(GenericPlayer player, GenericServer server){
+        int[] candidates = candidates(server.getHost());
+        int protocol = player.getProtocol();
+        
+        for(int index : candidates){
+            if(protocol < minProtocols[index] || protocol > maxProtocols[index])
+                continue;
+            
+            if(conditions[index].test(player, server))
+                return (T)values[index];
+        }
+        
+        return null;
+    }
+    
+    /**
+     * Returns the number of values in this selector.
+     *
+     * @return Number of values in this selector.
+     */
+    public int size(){
+        return values.length;
+    }
+    
+    private int[] candidates(String host){
+        if(host == null || hostCandidates.isEmpty())
+            return anyHostCandidates;
+        
+        int[] candidates = hostCandidates.get(host);
+        if(candidates == null)
+            candidates = hostCandidates.get(host.toLowerCase(Locale.ROOT));
+        
+        return candidates == null ? anyHostCandidates : candidates;
+    }
+    
+    private static int[] toArray(List<Integer> list){
+        if(list.isEmpty())
+            return EMPTY;
+        
+        int[] array = new int[list.size()];
+        for(int i = 0; i < array.length; i++)
+            array[i] = list.get(i);
+        
+        return array;
+    }
+    
+    /*
+     * Host and protocol range a condition requires in order to be met. Only top-level conditions and conditions
+     * directly inside an "and" are considered, as anything else may still be met without them.
+     */
+    private static final class Requirements{
+        
+        private String host = null;
+        private int minProtocol = Integer.MIN_VALUE;
+        private int maxProtocol = Integer.MAX_VALUE;
+        
+        static Requirements of(Condition condition){
+            Requirements requirements = new Requirements();
+            if(condition instanceof Conditions.And and){
+                for(Condition child : and.conditions())
+                    requirements.add(child);
+            }else{
+                requirements.add(condition);
+            }
+            
+            return requirements;
+        }
+        
+        private void add(Condition condition){
+            if(condition instanceof Conditions.ProtocolRange range){
+                minProtocol = Math.max(minProtocol, range.min());
+                maxProtocol = Math.min(maxProtocol, range.max());
+            }else if(condition instanceof Conditions.Host host && this.host == null){
+                this.host = host.host();
+            }
+        }
+    }
+    
+    /**
+     * Builder class to create a {@link ProfileSelector ProfileSelector}.
+     *
+     * @param <T>
+     *        The type of value selected.
+     */
+    public static class Builder<T>{
+        
+        private final List<Condition> conditions = new ArrayList<>();
+        private final List<T> values = new ArrayList<>();
+        
+        private Builder(){}
+        
+        /**
+         * Adds a value selected when the provided condition is met.
+         * <br>Values added first take priority over values added later.
+         *
+         * @param  condition
+         *         The condition that needs to be met.
+         * @param  value
+         *         The value to select.
+         *
+         * @return This Builder after the value has been added. Useful for chaining.
+         *
+         * @throws IllegalArgumentException
+         *         When the provided condition or value is null.
+         */
+        public Builder<T> add(Condition condition, T value){
+            CheckUtil.isNull("Condition", condition);
+            CheckUtil.isNull("Value", value);
+            
+            conditions.add(condition);
+            values.add(value);
+            return this;
+        }
+        
+        /**
+         * Creates a new {@link ProfileSelector ProfileSelector} using the values added to this Builder.
+         *
+         * @return New ProfileSelector instance.
+         */
+        public ProfileSelector<T> build(){
+            return new ProfileSelector<>(conditions, values);
+        }
+    }
+}
@@ -59,6 +59,16 @@ public interface GenericServerListEvent{
      */
     void setEntry(ProfileEntry entry);
     
+    /**
+     * Returns the {@link PingTimings PingTimings} recorded for the ping this event has been called for.
+     * <br>Defaults to {@link PingTimings#empty() an empty instance} should no timings be recorded.
+     *
+     * @return The PingTimings of the current ping.
+     */
+    default PingTimings getTimings(){
+        return PingTimings.empty();
+    }
+    
     /**
      * Sets the event's cancel state.
      *
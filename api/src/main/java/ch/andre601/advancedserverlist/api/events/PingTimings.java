@@ -0,0 +1,156 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.events;
+
+import ch.andre601.advancedserverlist.api.internal.PingTimingsRecorder;
+
+/**
+ * Read-only view of the timestamps recorded while handling a single ping.
+ * <br>Retrieved through {@link GenericServerListEvent#getTimings() GenericServerListEvent.getTimings()}.
+ *
+ * <p>All timestamps are values of {@link System#nanoTime() System.nanoTime()} and are only meaningful relative to each
+ * other. {@link #getElapsed(Stage) getElapsed(Stage)} returns the time passed between the start of the ping and a
+ * stage. Stages not reached (yet) return {@code -1}.
+ *
+ * <p>The stages cover everything reached before the PreServerListSetEvent has been called. On Bukkit, the time each
+ * listener took is recorded as well, in the order the listeners are called, so a listener sees the durations of all
+ * listeners called before it. BungeeCord's and Velocity's event managers offer no way to time single listeners, so
+ * {@link #getListenerCount() getListenerCount()} is always {@code 0} there.
+ *
+ * <p>To not allocate on every ping is the instance handed to listeners a view that AdvancedServerList re-uses for
+ * the next ping handled by the same thread. Read the timings while handling the event and do not keep the instance
+ * around afterwards. Values read after the event has been handled may belong to a later ping.
+ *
+ * <h4>Example</h4>
+ * <pre>{@code
+ * PingTimings timings = event.getTimings();
+ * if(timings.getTotal() > 5_000_000L){
+ *     logger.warn("Slow ping! Rendering took {} ns", timings.getDuration(PingTimings.Stage.PLACEHOLDERS_RENDERED));
+ * }
+ * }</pre>
+ */
+public interface PingTimings{
+    
+    /**
+     * Returns a PingTimings instance without any timestamps recorded.
+     *
+     * @return PingTimings instance without any timestamps.
+     */
+    static PingTimings empty(){
+        return PingTimingsRecorder.empty();
+    }
+    
+    /**
+     * Returns the timestamp recorded for the provided stage.
+     *
+     * @param  stage
+     *         The {@link Stage Stage} to get the timestamp of.
+     *
+     * @return The timestamp in nanoseconds, or {@code -1} if the stage hasn't been reached.
+     */
+    long getTimestamp(Stage stage);
+    
+    /**
+     * Returns the time passed between {@link Stage#START START} and the provided stage.
+     *
+     * @param  stage
+     *         The {@link Stage Stage} to get the elapsed time of.
+     *
+     * @return The elapsed time in nanoseconds, or {@code -1} if the stage hasn't been reached.
+     */
+    long getElapsed(Stage stage);
+    
+    /**
+     * Returns the time passed between the closest previously reached stage and the provided stage.
+     *
+     * @param  stage
+     *         The {@link Stage Stage} to get the duration of.
+     *
+     * @return The duration in nanoseconds, or {@code -1} if the stage hasn't been reached.
+     */
+    long getDuration(Stage stage);
+    
+    /**
+     * Returns the number of listeners whose duration has been recorded so far.
+     * <br>Listeners are only recorded on Bukkit, and only up to a limited number of them. Any listener beyond that
+     * limit is not included.
+     *
+     * @return Number of recorded listeners.
+     */
+    int getListenerCount();
+    
+    /**
+     * Returns the time the listener at the provided index took to complete.
+     * <br>The index matches the position of the listener in the array returned by Bukkit's
+     * {@code HandlerList#getRegisteredListeners()}, which is the order the listeners are called in.
+     *
+     * @param  index
+     *         The index of the listener, in the order they were called.
+     *
+     * @return The duration of the listener in nanoseconds.
+     *
+     * @throws IndexOutOfBoundsException
+     *         When the index is negative or not lower than {@link #getListenerCount() getListenerCount()}.
+     */
+    long getListenerDuration(int index);
+    
+    /**
+     * Returns the time passed between {@link Stage#START START} and the last recorded timestamp.
+     *
+     * @return The total elapsed time in nanoseconds, or {@code 0} if no timestamps were recorded.
+     */
+    long getTotal();
+    
+    /**
+     * Stages of handling a ping, in the order they are reached.
+     */
+    enum Stage{
+        
+        /**
+         * The ping has been received.
+         */
+        START,
+        
+        /**
+         * The player pinging the server has been resolved.
+         */
+        PLAYER_RESOLVED,
+        
+        /**
+         * The profile to use has been selected.
+         */
+        PROFILE_SELECTED,
+        
+        /**
+         * All placeholders of the profile have been rendered.
+         */
+        PLACEHOLDERS_RENDERED,
+        
+        /**
+         * The favicon has been resolved.
+         */
+        FAVICON_RESOLVED
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.favicons;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Resolved favicon ready to be sent to a player.
+ * <br>Use {@link #of(String, byte[]) of(String, byte[])} or {@link #ofOffHeap(String, byte[]) ofOffHeap(String, byte[])}
+ * to create a new instance from the bytes of a PNG image.
+ *
+ * <p>The base64-encoded data URI expected by Minecraft is computed once when the instance is created, both as a String
+ * and as the bytes returned by {@link #getPayload() getPayload()}, alongside a SHA-256 hash of the image used to
+ * compare favicons by their content.
+ * <br>Instances created through {@link #ofOffHeap(String, byte[]) ofOffHeap} store the data URI in a direct
+ * {@link ByteBuffer ByteBuffer} outside the Java heap. {@link #getPayload() getPayload()} is the preferred way to
+ * access the data of such an instance, as {@link #getDataUri() getDataUri()} needs to create a new String each time.
+ *
+ * <p>This class is immutable and may be shared across threads.
+ */
+public final class Favicon{
+    
+    private static final String DATA_URI_PREFIX = "data:image/png;base64,";
+    private static final byte[] PNG_SIGNATURE = {(byte)0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    
+    private final String source;
+    private final String hash;
+    private final String dataUri;
+    // Always set, holding the encoded data URI either on the heap or, for off-heap favicons, outside of it.
+    private final ByteBuffer payload;
+    
+    private Favicon(String source, String hash, String dataUri, ByteBuffer payload){
+        this.source = source;
+        this.hash = hash;
+        this.dataUri = dataUri;
+        this.payload = payload;
+    }
+    
+    /**
+     * Creates a new Favicon from the bytes of a PNG image, keeping the data URI on the heap.
+     *
+     * @param  source
+     *         The source the favicon was obtained from, such as a URL, file name or player UUID.
+     * @param  png
+     *         The bytes of the PNG image.
+     *
+     * @return New Favicon instance.
+     *
+     * @throws IllegalArgumentException
+     *         When source or png is null, or png is not a PNG image.
+     */
+    public static Favicon of(String source, byte[] png){
+        checkPng(source, png);
+        
+        byte[] payload = dataUri(png);
+        return new Favicon(source, hash(png), new String(payload, StandardCharsets.US_ASCII),
+            ByteBuffer.wrap(payload).asReadOnlyBuffer());
+    }
+    
+    /**
+     * Creates a new Favicon from the bytes of a PNG image, storing the data URI in a direct {@link ByteBuffer ByteBuffer}
+     * outside the Java heap.
+     *
+     * @param  source
+     *         The source the favicon was obtained from, such as a URL, file name or player UUID.
+     * @param  png
+     *         The bytes of the PNG image.
+     *
+     * @return New Favicon instance.
+     *
+     * @throws IllegalArgumentException
+     *         When source or png is null, or png is not a PNG image.
+     */
+    public static Favicon ofOffHeap(String source, byte[] png){
+        checkPng(source, png);
+        
+        byte[] encoded = dataUri(png);
+        ByteBuffer payload = ByteBuffer.allocateDirect(encoded.length)
+            .put(encoded)
+            .flip();
+        
+        return new Favicon(source, hash(png), null, payload.asReadOnlyBuffer());
+    }
+    
+    /**
+     * Returns the source this favicon was obtained from, such as a URL, file name or player UUID.
+     *
+     * @return The source of this favicon.
+     */
+    public String getSource(){
+        return source;
+    }
+    
+    /**
+     * Returns the hex-encoded SHA-256 hash of the PNG image.
+     * <br>Two favicons with the same hash show the same image.
+     *
+     * @return The content hash of this favicon.
+     */
+    public String getHash(){
+        return hash;
+    }
+    
+    /**
+     * Returns the data URI ({@code data:image/png;base64,...}) of this favicon as used by Minecraft.
+     * <br>For {@link #isOffHeap() off-heap} favicons will a new String be created on every call.
+     *
+     * @return The data URI of this favicon.
+     */
+    public String getDataUri(){
+        if(dataUri != null)
+            return dataUri;
+        
+        return StandardCharsets.US_ASCII.decode(payload.duplicate()).toString();
+    }
+    
+    /**
+     * Returns a read-only {@link ByteBuffer ByteBuffer} containing the US-ASCII bytes of the {@link #getDataUri() data URI}.
+     * <br>The bytes are encoded once when the favicon is created. Each call returns a new view of them with its own
+     * position, allowing it to be consumed without affecting others.
+     *
+     * @return Read-only ByteBuffer containing the data URI.
+     */
+    public ByteBuffer getPayload(){
+        return payload.duplicate();
+    }
+    
+    /**
+     * Returns the number of bytes of the {@link #getDataUri() data URI}.
+     *
+     * @return Size of the data URI in bytes.
+     */
+    public int getSize(){
+        return payload.remaining();
+    }
+    
+    /**
+     * Returns whether the data of this favicon is stored outside the Java heap.
+     *
+     * @return True if this favicon was created through {@link #ofOffHeap(String, byte[]) ofOffHeap}, otherwise false.
+     */
+    public boolean isOffHeap(){
+        return payload.isDirect();
+    }
+    
+    @Override
+    public boolean equals(Object obj){
+        return obj instanceof Favicon other && other.hash.equals(hash);
+    }
+    
+    @Override
+    public int hashCode(){
+        return hash.hashCode();
+    }
+    
+    @Override
+    public String toString(){
+        return "Favicon[source=" + source + ", hash=" + hash + ", offHeap=" + isOffHeap() + "]";
+    }
+    
+    private static void checkPng(String source, byte[] png){
+        CheckUtil.isNull("Source", source);
+        CheckUtil.isNull("PNG", png);
+        
+        if(png.length < PNG_SIGNATURE.length)
+            throw new IllegalArgumentException("Provided bytes are not a PNG image!");
+        
+        for(int i = 0; i < PNG_SIGNATURE.length; i++){
+            if(png[i] != PNG_SIGNATURE[i])
+                throw new IllegalArgumentException("Provided bytes are not a PNG image!");
+        }
+    }
+    
+    private static byte[] dataUri(byte[] png){
+        byte[] prefix = DATA_URI_PREFIX.getBytes(StandardCharsets.US_ASCII);
+        byte[] encoded = Base64.getEncoder().encode(png);
+        
+        byte[] dataUri = Arrays.copyOf(prefix, prefix.length + encoded.length);
+        System.arraycopy(encoded, 0, dataUri, prefix.length, encoded.length);
+        return dataUri;
+    }
+    
+    private static String hash(byte[] png){
+        try{
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png));
+        }catch(NoSuchAlgorithmException ex){
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(ex);
+        }
+    }
+}
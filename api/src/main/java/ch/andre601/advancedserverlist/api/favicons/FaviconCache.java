@@ -0,0 +1,246 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.favicons;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Approximately least-recently-used cache of {@link Favicon Favicons} keyed by their {@link Favicon#getSource() source}.
+ * <br>The cache holds at most {@code maxSize} favicons, removing the least recently used one once this limit is
+ * exceeded. The time of use is only updated once per millisecond, making the order approximate for favicons used
+ * within the same millisecond.
+ *
+ * <p>This class is thread-safe and lookups never block, as they only read a {@link ConcurrentHashMap ConcurrentHashMap}
+ * and occasionally update the time of use. Favicons are loaded outside of any lock, meaning that should two threads
+ * load the same missing favicon at once may the loader be called more than once.
+ */
+public class FaviconCache{
+    
+    private static final long ACCESS_GRANULARITY = 1_000_000L;
+    
+    private final int maxSize;
+    private final Map<String, Node> cache = new ConcurrentHashMap<>();
+    private final Object evictionLock = new Object();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    
+    /**
+     * Creates a new FaviconCache holding at most the provided number of favicons.
+     *
+     * @param maxSize
+     *        The maximum number of favicons to cache. Needs to be positive.
+     *
+     * @throws IllegalArgumentException
+     *         When maxSize is not positive.
+     */
+    public FaviconCache(int maxSize){
+        if(maxSize <= 0)
+            throw new IllegalArgumentException("MaxSize needs to be positive!");
+        
+        this.maxSize = maxSize;
+    }
+    
+    /**
+     * Returns the cached {@link Favicon Favicon} for the provided source, or {@code null} should none be cached.
+     *
+     * @param  source
+     *         The source of the favicon.
+     *
+     * @return Possibly-null cached Favicon.
+     */
+    public Favicon get(String source){
+        Node node = cache.get(source);
+        if(node == null){
+            misses.increment();
+            return null;
+        }
+        
+        // Only written once per millisecond, so frequently used favicons don't cause writes on every lookup.
+        long now = System.nanoTime();
+        if(now - node.lastAccess >= ACCESS_GRANULARITY)
+            node.lastAccess = now;
+        
+        hits.increment();
+        return node.favicon;
+    }
+    
+    /**
+     * Returns the cached {@link Favicon Favicon} for the provided source, or loads, caches and returns a new one should
+     * none be cached.
+     * <br>Should the loader return {@code null} will nothing be cached. The returned favicon is cached under the
+     * provided source, even if its own {@link Favicon#getSource() source} differs.
+     *
+     * @param  source
+     *         The source of the favicon.
+     * @param  loader
+     *         Function used to load a missing favicon.
+     *
+     * @return Possibly-null cached or newly loaded Favicon.
+     */
+    public Favicon getOrLoad(String source, Function<String, Favicon> loader){
+        Favicon favicon = get(source);
+        if(favicon != null)
+            return favicon;
+        
+        favicon = loader.apply(source);
+        if(favicon != null)
+            put(source, favicon);
+        
+        return favicon;
+    }
+    
+    /**
+     * Caches the provided {@link Favicon Favicon} under its {@link Favicon#getSource() source}, replacing any favicon
+     * previously cached for it.
+     *
+     * @param favicon
+     *        The Favicon to cache.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided Favicon is null.
+     */
+    public void put(Favicon favicon){
+        CheckUtil.isNull("Favicon", favicon);
+        
+        put(favicon.getSource(), favicon);
+    }
+    
+    /**
+     * Caches the provided {@link Favicon Favicon} under the provided source, replacing any favicon previously cached
+     * for it.
+     * <br>Use this should the favicon have been requested through a source differing from its own, such as a
+     * normalized or redirected one.
+     *
+     * @param source
+     *        The source to cache the Favicon under.
+     * @param favicon
+     *        The Favicon to cache.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided source or Favicon is null.
+     */
+    public void put(String source, Favicon favicon){
+        CheckUtil.isNull("Source", source);
+        CheckUtil.isNull("Favicon", favicon);
+        
+        cache.put(source, new Node(favicon));
+        if(cache.size() > maxSize)
+            evict();
+    }
+    
+    /**
+     * Returns whether a {@link Favicon Favicon} is cached for the provided source, without counting it as a hit or miss
+     * or marking it as recently used.
+     *
+     * @param  source
+     *         The source of the favicon.
+     *
+     * @return True if a Favicon is cached for the source, otherwise false.
+     */
+    public boolean contains(String source){
+        return cache.containsKey(source);
+    }
+    
+    /**
+     * Removes the cached {@link Favicon Favicon} of the provided source.
+     *
+     * @param source
+     *        The source of the favicon to remove.
+     */
+    public void invalidate(String source){
+        cache.remove(source);
+    }
+    
+    /**
+     * Removes all cached favicons.
+     */
+    public void invalidateAll(){
+        cache.clear();
+    }
+    
+    /**
+     * Returns the number of cached favicons.
+     *
+     * @return Number of cached favicons.
+     */
+    public int size(){
+        return cache.size();
+    }
+    
+    /**
+     * Returns how often a cached favicon could be returned.
+     *
+     * @return Number of cache hits.
+     */
+    public long getHitCount(){
+        return hits.sum();
+    }
+    
+    /**
+     * Returns how often no cached favicon was present.
+     *
+     * @return Number of cache misses.
+     */
+    public long getMissCount(){
+        return misses.sum();
+    }
+    
+    /*
+     * Only one thread evicts at a time. Favicons are only cached on a miss, so scanning all of them is cheap compared
+     * to loading the favicon that caused the eviction.
+     */
+    private void evict(){
+        synchronized(evictionLock){
+            while(cache.size() > maxSize){
+                Map.Entry<String, Node> eldest = null;
+                for(Map.Entry<String, Node> entry : cache.entrySet()){
+                    if(eldest == null || entry.getValue().lastAccess - eldest.getValue().lastAccess < 0)
+                        eldest = entry;
+                }
+                
+                if(eldest == null)
+                    return;
+                
+                cache.remove(eldest.getKey(), eldest.getValue());
+            }
+        }
+    }
+    
+    private static final class Node{
+        
+        private final Favicon favicon;
+        private volatile long lastAccess = System.nanoTime();
+        
+        private Node(Favicon favicon){
+            this.favicon = favicon;
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.favicons;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.ExpiringCache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Loads {@link Favicon Favicons} in the background and stores them in a {@link FaviconCache FaviconCache}, so that
+ * pings never have to wait for image I/O.
+ *
+ * <p>Favicons are loaded by a bounded pool of worker threads. Concurrent requests for the same source share a single
+ * load, and requests made while the queue of the pool is full are dropped until a later request.
+ * <br>Use {@link #getNow(String) getNow(String)} on the ping thread to retrieve a favicon without blocking, which
+ * returns the default favicon and schedules a load should the requested one not be cached yet.
+ *
+ * <p>Failed loads, meaning the loader threw an exception or returned {@code null}, are remembered for a while, during
+ * which further requests for the same source return no favicon without calling the loader again. The time doubles
+ * with each consecutive failure of a source, starting at the retry delay and capped at the maximum retry delay. This
+ * keeps an unreachable source from being requested on every ping.
+ *
+ * <p>Player heads use the {@link UUID#toString() String representation} of the player's UUID as their source, meaning
+ * the loader needs to handle such sources.
+ */
+public class FaviconPrefetcher{
+    
+    private static final int MAX_FAILURES = 4096;
+    
+    private final FaviconCache cache;
+    private final Function<String, Favicon> loader;
+    private final Favicon defaultFavicon;
+    
+    private final long retryDelayNanos;
+    private final long maxRetryDelayNanos;
+    
+    private final ThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<Favicon>> pending = new ConcurrentHashMap<>();
+    private final ExpiringCache<String, Failure> failures = new ExpiringCache<>(MAX_FAILURES);
+    
+    /**
+     * Creates a new FaviconPrefetcher retrying failed loads after 5 seconds, doubling up to 5 minutes for consecutive
+     * failures.
+     *
+     * @param cache
+     *        The {@link FaviconCache FaviconCache} to store loaded favicons in.
+     * @param loader
+     *        Function loading the favicon of a source. The returned Favicon is cached under the provided source. May
+     *        block and may return {@code null} should the favicon not be available.
+     * @param defaultFavicon
+     *        The Favicon to return should a requested one not be cached yet. May be {@code null}.
+     * @param threads
+     *        The number of worker threads to use. Needs to be positive.
+     * @param queueSize
+     *        The maximum number of loads waiting for a worker thread. Needs to be positive.
+     *
+     * @throws IllegalArgumentException
+     *         When cache or loader is null, or threads or queueSize is not positive.
+     */
+    public FaviconPrefetcher(FaviconCache cache, Function<String, Favicon> loader, Favicon defaultFavicon, int threads,
+                             int queueSize){
+        this(cache, loader, defaultFavicon, threads, queueSize, Duration.ofSeconds(5), Duration.ofMinutes(5));
+    }
+    
+    /**
+     * Creates a new FaviconPrefetcher.
+     *
+     * @param cache
+     *        The {@link FaviconCache FaviconCache} to store loaded favicons in.
+     * @param loader
+     *        Function loading the favicon of a source. The returned Favicon is cached under the provided source. May
+     *        block and may return {@code null} should the favicon not be available.
+     * @param defaultFavicon
+     *        The Favicon to return should a requested one not be cached yet. May be {@code null}.
+     * @param threads
+     *        The number of worker threads to use. Needs to be positive.
+     * @param queueSize
+     *        The maximum number of loads waiting for a worker thread. Needs to be positive.
+     * @param retryDelay
+     *        How long to wait before loading the favicon of a source again after it failed to load. Needs to be positive.
+     * @param maxRetryDelay
+     *        The maximum time to wait for a source that failed to load multiple times in a row. May not be lower than
+     *        retryDelay.
+     *
+     * @throws IllegalArgumentException
+     *         When cache, loader or any Duration is null, threads or queueSize is not positive, or the delays are
+     *         outside their allowed range.
+     */
+    public FaviconPrefetcher(FaviconCache cache, Function<String, Favicon> loader, Favicon defaultFavicon, int threads,
+                             int queueSize, Duration retryDelay, Duration maxRetryDelay){
+        CheckUtil.isNull("FaviconCache", cache);
+        CheckUtil.isNull("Loader", loader);
+        CheckUtil.isNull("RetryDelay", retryDelay);
+        CheckUtil.isNull("MaxRetryDelay", maxRetryDelay);
+        
+        if(threads <= 0 || queueSize <= 0)
+            throw new IllegalArgumentException("Threads and QueueSize need to be positive!");
+        
+        if(retryDelay.isNegative() || retryDelay.isZero())
+            throw new IllegalArgumentException("RetryDelay needs to be positive!");
+        
+        if(maxRetryDelay.compareTo(retryDelay) < 0)
+            throw new IllegalArgumentException("MaxRetryDelay may not be lower than RetryDelay!");
+        
+        this.cache = cache;
+        this.loader = loader;
+        this.defaultFavicon = defaultFavicon;
+        this.retryDelayNanos = retryDelay.toNanos();
+        this.maxRetryDelayNanos = maxRetryDelay.toNanos();
+        
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "AdvancedServerList Favicon Prefetcher #" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+    
+    /**
+     * Returns the cached {@link Favicon Favicon} of the provided source without blocking.
+     * <br>Should the favicon not be cached yet will a load be scheduled and the default favicon returned.
+     *
+     * @param  source
+     *         The source of the favicon.
+     *
+     * @return The cached Favicon, or the possibly-null default favicon.
+     */
+    public Favicon getNow(String source){
+        Favicon favicon = cache.get(source);
+        if(favicon != null)
+            return favicon;
+        
+        prefetch(source);
+        return defaultFavicon;
+    }
+    
+    /**
+     * Returns the cached head of the player with the provided UUID without blocking.
+     * <br>Should the head not be cached yet will a load be scheduled and the default favicon returned.
+     *
+     * @param  uuid
+     *         The UUID of the player.
+     *
+     * @return The cached Favicon, or the possibly-null default favicon.
+     */
+    public Favicon getPlayerHeadNow(UUID uuid){
+        CheckUtil.isNull("UUID", uuid);
+        
+        return getNow(uuid.toString());
+    }
+    
+    /**
+     * Schedules the favicon of the provided source to be loaded, unless it is already cached, being loaded or failed to
+     * load recently.
+     *
+     * @param  source
+     *         The source of the favicon.
+     *
+     * @return CompletableFuture completing with the loaded Favicon, or {@code null} should it not be available.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided source is null.
+     */
+    public CompletableFuture<Favicon> prefetch(String source){
+        CheckUtil.isNull("Source", source);
+        
+        if(cache.contains(source))
+            return CompletableFuture.completedFuture(cache.get(source));
+        
+        Failure failure = failures.getIfPresent(source);
+        if(failure != null && System.nanoTime() - failure.retryAt() < 0)
+            return CompletableFuture.completedFuture(null);
+        
+        CompletableFuture<Favicon> created = new CompletableFuture<>();
+        CompletableFuture<Favicon> existing = pending.putIfAbsent(source, created);
+        if(existing != null)
+            return existing;
+        
+        try{
+            executor.execute(() -> load(source, created));
+        }catch(RejectedExecutionException ex){
+            pending.remove(source, created);
+            created.complete(null);
+        }
+        
+        return created;
+    }
+    
+    /**
+     * Schedules the head of the player with the provided UUID to be loaded, unless it is already cached or being
+     * loaded.
+     * <br>Call this for recently seen players to have their head ready for their next ping.
+     *
+     * @param  uuid
+     *         The UUID of the player.
+     *
+     * @return CompletableFuture completing with the loaded Favicon, or {@code null} should it not be available.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided UUID is null.
+     */
+    public CompletableFuture<Favicon> prefetchPlayerHead(UUID uuid){
+        CheckUtil.isNull("UUID", uuid);
+        
+        return prefetch(uuid.toString());
+    }
+    
+    /**
+     * Schedules the favicons of all provided sources to be loaded, such as the favicons configured in the profiles.
+     *
+     * @param sources
+     *        The sources of the favicons.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided collection is null.
+     */
+    public void prefetchAll(Collection<String> sources){
+        CheckUtil.isNull("Sources", sources);
+        
+        for(String source : sources){
+            prefetch(source);
+        }
+    }
+    
+    /**
+     * Returns the number of favicons currently being loaded or waiting to be loaded.
+     *
+     * @return Number of pending loads.
+     */
+    public int getPendingCount(){
+        return pending.size();
+    }
+    
+    /**
+     * Stops the worker threads. Loads that have not been started yet are discarded.
+     */
+    public void shutdown(){
+        executor.shutdownNow();
+        
+        pending.values().forEach(future -> future.complete(null));
+        pending.clear();
+    }
+    
+    /*
+     * Everything happens within a single try-finally, so that the future is completed and removed from the pending
+     * loads even should the loader throw an Error, such as an OutOfMemoryError while decoding an image.
+     */
+    private void load(String source, CompletableFuture<Favicon> future){
+        Favicon favicon = null;
+        try{
+            try{
+                favicon = loader.apply(source);
+            }catch(RuntimeException ignored){
+                // Treated like an unavailable favicon.
+            }
+            
+            // Cached under the requested source, as that's the one looked up, even if the favicon's own one differs.
+            if(favicon != null){
+                cache.put(source, favicon);
+                failures.invalidate(source);
+            }else{
+                recordFailure(source);
+            }
+        }finally{
+            pending.remove(source, future);
+            future.complete(favicon);
+        }
+    }
+    
+    /*
+     * Failures are kept for the maximum retry delay past their retry time, so that the delay keeps growing should the
+     * next attempt fail too.
+     */
+    private void recordFailure(String source){
+        Failure previous = failures.getIfPresent(source);
+        int attempts = previous == null ? 1 : previous.attempts() + 1;
+        
+        long delay = retryDelayNanos;
+        for(int i = 1; i < attempts && delay < maxRetryDelayNanos; i++){
+            delay = delay > maxRetryDelayNanos / 2 ? maxRetryDelayNanos : delay * 2;
+        }
+        
+        failures.put(source, new Failure(attempts, System.nanoTime() + delay), delay + maxRetryDelayNanos);
+    }
+    
+    private record Failure(int attempts, long retryAt){}
+}
@@ -0,0 +1,220 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.internal;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size-bounded, thread-safe cache whose entries expire after a per-entry time to live.
+ * <br>Lookups never block. Should two threads load the same missing key at once may the loader be called more than
+ * once. {@code null} values are cached as well.
+ *
+ * <p>When the size limit is exceeded are expired entries removed first, followed by arbitrary entries until a quarter
+ * of the cache has been freed.
+ *
+ * @param <K>
+ *        The type of the keys.
+ * @param <V>
+ *        The type of the cached values.
+ */
+public class ExpiringCache<K, V>{
+    
+    private final int maxSize;
+    private final Map<K, Value<V>> cache = new ConcurrentHashMap<>();
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Creates a new ExpiringCache holding at most the provided number of entries.
+     *
+     * @param maxSize
+     *        The maximum number of entries to hold. Needs to be positive.
+     *
+     * @throws IllegalArgumentException
+     *         When maxSize is not positive.
+     */
+    public ExpiringCache(int maxSize){
+        if(maxSize <= 0)
+            throw new IllegalArgumentException("MaxSize needs to be positive!");
+        
+        this.maxSize = maxSize;
+    }
+    
+    /**
+     * Returns the cached value for the key, or loads, caches and returns a new one using the loader should no valid
+     * value be cached.
+     *
+     * @param  key
+     *         The key to get the value for.
+     * @param  loader
+     *         Function used to load a missing value.
+     * @param  ttlNanos
+     *         Time in nanoseconds a newly loaded value should be cached for.
+     *
+     * @return The cached or newly loaded value.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader, long ttlNanos){
+        long now = System.nanoTime();
+        
+        Value<V> cached = cache.get(key);
+        if(cached != null && now - cached.expiresAt() < 0){
+            hits.increment();
+            return cached.value();
+        }
+        
+        misses.increment();
+        V value = loader.apply(key);
+        put(key, value, now, ttlNanos);
+        
+        return value;
+    }
+    
+    /**
+     * Returns the cached value for the key or {@code null} should no valid value be cached.
+     * <br>This counts towards the hit and miss counts.
+     *
+     * @param  key
+     *         The key to get the value for.
+     *
+     * @return Possibly-null cached value.
+     */
+    public V getIfPresent(K key){
+        Value<V> cached = cache.get(key);
+        if(cached != null && System.nanoTime() - cached.expiresAt() < 0){
+            hits.increment();
+            return cached.value();
+        }
+        
+        misses.increment();
+        return null;
+    }
+    
+    /**
+     * Returns the cached value for the key or {@code null} should no valid value be cached, without counting towards
+     * the hit and miss counts.
+     *
+     * @param  key
+     *         The key to get the value for.
+     *
+     * @return Possibly-null cached value.
+     */
+    public V peek(K key){
+        Value<V> cached = cache.get(key);
+        return cached != null && System.nanoTime() - cached.expiresAt() < 0 ? cached.value() : null;
+    }
+    
+    /**
+     * Caches the value for the key, replacing any previously cached value.
+     *
+     * @param key
+     *        The key to cache the value for.
+     * @param value
+     *        The value to cache.
+     * @param ttlNanos
+     *        Time in nanoseconds the value should be cached for.
+     */
+    public void put(K key, V value, long ttlNanos){
+        put(key, value, System.nanoTime(), ttlNanos);
+    }
+    
+    /**
+     * Removes the cached value for the key.
+     *
+     * @param key
+     *        The key to remove the value of.
+     */
+    public void invalidate(K key){
+        cache.remove(key);
+    }
+    
+    /**
+     * Removes all cached values.
+     */
+    public void invalidateAll(){
+        cache.clear();
+    }
+    
+    /**
+     * Returns the number of cached values, including expired ones not yet removed.
+     *
+     * @return Number of cached values.
+     */
+    public int size(){
+        return cache.size();
+    }
+    
+    /**
+     * Returns how often a valid cached value could be returned.
+     *
+     * @return Number of cache hits.
+     */
+    public long getHitCount(){
+        return hits.sum();
+    }
+    
+    /**
+     * Returns how often no valid cached value was present.
+     *
+     * @return Number of cache misses.
+     */
+    public long getMissCount(){
+        return misses.sum();
+    }
+    
+    /**
+     * Returns how many cached values have been removed due to the size limit being exceeded.
+     *
+     * @return Number of evicted values.
+     */
+    public long getEvictionCount(){
+        return evictions.sum();
+    }
+    
+    private void put(K key, V value, long now, long ttlNanos){
+        cache.put(key, new Value<>(value, now + ttlNanos));
+        if(cache.size() > maxSize)
+            evict(now);
+    }
+    
+    private void evict(long now){
+        cache.values().removeIf(value -> now - value.expiresAt() >= 0);
+        
+        int target = maxSize - (maxSize / 4);
+        Iterator<Value<V>> iterator = cache.values().iterator();
+        while(cache.size() > target && iterator.hasNext()){
+            iterator.next();
+            iterator.remove();
+            evictions.increment();
+        }
+    }
+    
+    private record Value<V>(V value, long expiresAt){}
+}
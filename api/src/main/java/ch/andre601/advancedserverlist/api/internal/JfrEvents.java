@@ -0,0 +1,201 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.internal;
+
+import ch.andre601.advancedserverlist.api.events.GenericServerListEvent;
+import ch.andre601.advancedserverlist.api.jfr.PlaceholderResolveEvent;
+import ch.andre601.advancedserverlist.api.jfr.ProfileEntryCreateEvent;
+import ch.andre601.advancedserverlist.api.jfr.ServerListDispatchEvent;
+import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+
+/**
+ * Emits the {@link ch.andre601.advancedserverlist.api.jfr Flight Recorder events} of AdvancedServerList, should the
+ * {@code jdk.jfr} module be available.
+ *
+ * <p>Runtimes such as trimmed jlink images don't contain the module, meaning any reference to an event class would
+ * fail with a {@link NoClassDefFoundError NoClassDefFoundError}. The events are therefore passed around as plain
+ * objects, which are {@code null} should Flight Recorder not be available, and are only touched by a nested class
+ * loaded once the module has been found.
+ */
+public final class JfrEvents{
+    
+    private static final boolean AVAILABLE = isModulePresent();
+    
+    private JfrEvents(){}
+    
+    /**
+     * Returns whether the {@code jdk.jfr} module is available, allowing events to be emitted.
+     *
+     * @return True if Flight Recorder events can be emitted, otherwise false.
+     */
+    public static boolean isAvailable(){
+        return AVAILABLE;
+    }
+    
+    /**
+     * Returns whether the provided event is enabled in a running recording.
+     *
+     * @param  event
+     *         The possibly-null event returned by one of the begin methods.
+     *
+     * @return True if the event is enabled, otherwise false.
+     */
+    public static boolean isEnabled(Object event){
+        return event != null && Events.isEnabled(event);
+    }
+    
+    /**
+     * Creates and begins a new {@link PlaceholderResolveEvent PlaceholderResolveEvent}.
+     *
+     * @return The begun event, or {@code null} should Flight Recorder not be available.
+     */
+    public static Object beginPlaceholderResolve(){
+        return AVAILABLE ? Events.beginPlaceholderResolve() : null;
+    }
+    
+    /**
+     * Completes the provided {@link PlaceholderResolveEvent PlaceholderResolveEvent}, if not {@code null}.
+     *
+     * @param event
+     *        The possibly-null event returned by {@link #beginPlaceholderResolve() beginPlaceholderResolve()}.
+     * @param provider
+     *        Identifier of the PlaceholderProvider.
+     * @param placeholder
+     *        The resolved placeholder(s).
+     * @param cacheHit
+     *        Whether the result was taken from a cache.
+     * @param failed
+     *        Whether the provider threw an exception.
+     */
+    public static void completePlaceholderResolve(Object event, String provider, String placeholder, boolean cacheHit,
+                                                  boolean failed){
+        if(event != null)
+            Events.completePlaceholderResolve(event, provider, placeholder, cacheHit, failed);
+    }
+    
+    /**
+     * Creates and begins a new {@link ProfileEntryCreateEvent ProfileEntryCreateEvent}.
+     *
+     * @return The begun event, or {@code null} should Flight Recorder not be available.
+     */
+    public static Object beginProfileEntryCreate(){
+        return AVAILABLE ? Events.beginProfileEntryCreate() : null;
+    }
+    
+    /**
+     * Completes the provided {@link ProfileEntryCreateEvent ProfileEntryCreateEvent}, if not {@code null}.
+     *
+     * @param event
+     *        The possibly-null event returned by {@link #beginProfileEntryCreate() beginProfileEntryCreate()}.
+     * @param motdLines
+     *        Number of MOTD lines of the ProfileEntry.
+     * @param playerLines
+     *        Number of player lines of the ProfileEntry.
+     */
+    public static void completeProfileEntryCreate(Object event, int motdLines, int playerLines){
+        if(event != null)
+            Events.completeProfileEntryCreate(event, motdLines, playerLines);
+    }
+    
+    /**
+     * Creates and begins a new {@link ServerListDispatchEvent ServerListDispatchEvent}.
+     *
+     * @return The begun event, or {@code null} should Flight Recorder not be available.
+     */
+    public static Object beginServerListDispatch(){
+        return AVAILABLE ? Events.beginServerListDispatch() : null;
+    }
+    
+    /**
+     * Completes the provided {@link ServerListDispatchEvent ServerListDispatchEvent}, if not {@code null}.
+     *
+     * @param dispatch
+     *        The possibly-null event returned by {@link #beginServerListDispatch() beginServerListDispatch()}.
+     * @param platform
+     *        The platform the event has been dispatched on.
+     * @param listenerCount
+     *        Number of listeners, or -1 should it be unknown.
+     * @param event
+     *        The dispatched event.
+     * @param original
+     *        The ProfileEntry the event has been dispatched with.
+     */
+    public static void completeServerListDispatch(Object dispatch, String platform, int listenerCount,
+                                                  GenericServerListEvent event, ProfileEntry original){
+        if(dispatch != null)
+            Events.completeServerListDispatch(dispatch, platform, listenerCount, event, original);
+    }
+    
+    private static boolean isModulePresent(){
+        try{
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        }catch(ClassNotFoundException | LinkageError ex){
+            return false;
+        }
+    }
+    
+    /*
+     * Only loaded once the jdk.jfr module has been found.
+     */
+    private static final class Events{
+        
+        static boolean isEnabled(Object event){
+            return ((jdk.jfr.Event)event).isEnabled();
+        }
+        
+        static Object beginPlaceholderResolve(){
+            PlaceholderResolveEvent event = new PlaceholderResolveEvent();
+            event.begin();
+            return event;
+        }
+        
+        static void completePlaceholderResolve(Object event, String provider, String placeholder, boolean cacheHit,
+                                               boolean failed){
+            ((PlaceholderResolveEvent)event).complete(provider, placeholder, cacheHit, failed);
+        }
+        
+        static Object beginProfileEntryCreate(){
+            ProfileEntryCreateEvent event = new ProfileEntryCreateEvent();
+            event.begin();
+            return event;
+        }
+        
+        static void completeProfileEntryCreate(Object event, int motdLines, int playerLines){
+            ((ProfileEntryCreateEvent)event).complete(motdLines, playerLines);
+        }
+        
+        static Object beginServerListDispatch(){
+            ServerListDispatchEvent event = new ServerListDispatchEvent();
+            event.begin();
+            return event;
+        }
+        
+        static void completeServerListDispatch(Object dispatch, String platform, int listenerCount,
+                                               GenericServerListEvent event, ProfileEntry original){
+            ((ServerListDispatchEvent)dispatch).complete(platform, listenerCount, event, original);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.internal;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free histogram of durations in nanoseconds.
+ * <br>Values are counted in logarithmic buckets, each power of two being split into 8 sub-buckets, giving percentiles
+ * a relative error of at most 12.5% while using a fixed amount of memory.
+ */
+public class LatencyHistogram{
+    
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS;
+    
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    
+    /**
+     * Records the provided duration.
+     *
+     * @param nanos
+     *        The duration in nanoseconds. Negative values are counted as 0.
+     */
+    public void record(long nanos){
+        counts.incrementAndGet(indexOf(Math.max(nanos, 0L)));
+    }
+    
+    /**
+     * Returns the counts of all buckets.
+     *
+     * @param  reset
+     *         Whether the buckets should be reset to 0 while being read.
+     *
+     * @return Array containing the count of each bucket.
+     */
+    public long[] counts(boolean reset){
+        long[] snapshot = new long[BUCKETS];
+        for(int i = 0; i < BUCKETS; i++){
+            snapshot[i] = reset ? counts.getAndSet(i, 0L) : counts.get(i);
+        }
+        
+        return snapshot;
+    }
+    
+    /**
+     * Returns the value at the provided percentile of the provided bucket counts.
+     * <br>The value returned is the upper bound of the bucket the percentile falls into.
+     *
+     * @param  counts
+     *         The bucket counts as returned by {@link #counts(boolean) counts(boolean)}.
+     * @param  percentile
+     *         The percentile between 0 and 1.
+     *
+     * @return The duration in nanoseconds at the percentile, or 0 if no values were recorded.
+     */
+    public static long percentile(long[] counts, double percentile){
+        long total = 0L;
+        for(long count : counts)
+            total += count;
+        
+        if(total == 0L)
+            return 0L;
+        
+        long rank = Math.max(1L, (long)Math.ceil(total * percentile));
+        long seen = 0L;
+        for(int i = 0; i < counts.length; i++){
+            seen += counts[i];
+            if(seen >= rank)
+                return upperBoundOf(i);
+        }
+        
+        return upperBoundOf(counts.length - 1);
+    }
+    
+    /**
+     * Returns the upper bound of the highest bucket with a value recorded.
+     *
+     * @param  counts
+     *         The bucket counts as returned by {@link #counts(boolean) counts(boolean)}.
+     *
+     * @return The upper bound of the highest recorded value in nanoseconds, or 0 if no values were recorded.
+     */
+    public static long max(long[] counts){
+        for(int i = counts.length - 1; i >= 0; i--){
+            if(counts[i] != 0L)
+                return upperBoundOf(i);
+        }
+        
+        return 0L;
+    }
+    
+    private static int indexOf(long value){
+        if(value < SUB_BUCKETS)
+            return (int)value;
+        
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        
+        return ((shift + 1) << SUB_BUCKET_BITS) | (int)((value >>> shift) & (SUB_BUCKETS - 1));
+    }
+    
+    private static long upperBoundOf(int index){
+        if(index < SUB_BUCKETS)
+            return index;
+        
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long lower = (1L << (shift + SUB_BUCKET_BITS)) | ((long)(index & (SUB_BUCKETS - 1)) << shift);
+        
+        return lower + (1L << shift) - 1L;
+    }
+}
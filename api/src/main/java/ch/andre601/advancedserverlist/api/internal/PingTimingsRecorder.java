@@ -0,0 +1,198 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.internal;
+
+import ch.andre601.advancedserverlist.api.events.PingTimings;
+
+import java.util.Arrays;
+
+/**
+ * Records the timestamps of a ping, used by AdvancedServerList to create the {@link PingTimings PingTimings} handed to
+ * listeners.
+ *
+ * <p>All timestamps and listener durations are kept in primitive arrays allocated once, together with a single
+ * {@link #view() view} of them, so recording and handing out timings doesn't allocate. A recorder may be
+ * {@link #start() restarted} to be re-used for the next ping handled by the same thread, but is not safe to be shared
+ * between threads otherwise.
+ *
+ * <p>As the view reflects the recorder, it changes once the recorder is restarted. Events whose listeners may still
+ * run after the next ping has been started, such as Velocity's continuations after a deadline, should be created with
+ * an independent {@link #copy() copy} instead.
+ */
+public final class PingTimingsRecorder{
+    
+    /**
+     * The maximum number of listener durations recorded.
+     */
+    public static final int MAX_LISTENERS = 32;
+    
+    private static final PingTimings EMPTY = new PingTimingsRecorder().view();
+    
+    private final long[] timestamps = new long[PingTimings.Stage.values().length];
+    private final long[] listenerDurations = new long[MAX_LISTENERS];
+    private final PingTimings view = new View();
+    
+    private int listeners = 0;
+    private long last = -1L;
+    
+    /**
+     * Creates a new PingTimingsRecorder without any timestamps recorded.
+     */
+    public PingTimingsRecorder(){
+        Arrays.fill(timestamps, -1L);
+    }
+    
+    /**
+     * Returns a PingTimings instance without any timestamps recorded.
+     *
+     * @return PingTimings instance without any timestamps.
+     */
+    public static PingTimings empty(){
+        return EMPTY;
+    }
+    
+    /**
+     * Clears all previously recorded timestamps and listener durations and records the
+     * {@link PingTimings.Stage#START START} stage.
+     *
+     * @return This PingTimingsRecorder. Useful for chaining.
+     */
+    public PingTimingsRecorder start(){
+        Arrays.fill(timestamps, -1L);
+        listeners = 0;
+        last = -1L;
+        
+        mark(PingTimings.Stage.START);
+        return this;
+    }
+    
+    /**
+     * Records the current time for the provided stage.
+     *
+     * @param stage
+     *        The {@link PingTimings.Stage Stage} that has been reached.
+     */
+    public void mark(PingTimings.Stage stage){
+        long now = System.nanoTime();
+        timestamps[stage.ordinal()] = now;
+        last = now;
+    }
+    
+    /**
+     * Records the completion of the next listener, which has been called at the provided time.
+     * <br>Listeners beyond {@link #MAX_LISTENERS MAX_LISTENERS} are not recorded, but still count towards the
+     * {@link PingTimings#getTotal() total}.
+     *
+     * @param started
+     *        The {@link System#nanoTime() System.nanoTime()} value taken right before the listener has been called.
+     */
+    public void markListener(long started){
+        long now = System.nanoTime();
+        if(listeners < MAX_LISTENERS)
+            listenerDurations[listeners++] = now - started;
+        
+        last = now;
+    }
+    
+    /**
+     * Returns the read-only {@link PingTimings PingTimings} view of this recorder.
+     * <br>The same instance is returned on every call. It reflects the timestamps and listener durations recorded so
+     * far, including listeners completing after the view has been handed out, and is cleared once this recorder is
+     * {@link #start() restarted}.
+     *
+     * @return Read-only PingTimings view of this recorder.
+     */
+    public PingTimings view(){
+        return view;
+    }
+    
+    /**
+     * Creates an immutable {@link PingTimings PingTimings} copy of the timestamps and listener durations recorded so
+     * far.
+     * <br>Unlike the {@link #view() view} is the returned instance not affected by this recorder being restarted and
+     * may be kept and read from any thread, at the cost of allocating it.
+     *
+     * @return Immutable PingTimings with the currently recorded timestamps and listener durations.
+     */
+    public PingTimings copy(){
+        PingTimingsRecorder copy = new PingTimingsRecorder();
+        System.arraycopy(timestamps, 0, copy.timestamps, 0, timestamps.length);
+        System.arraycopy(listenerDurations, 0, copy.listenerDurations, 0, listeners);
+        copy.listeners = listeners;
+        copy.last = last;
+        
+        return copy.view;
+    }
+    
+    private final class View implements PingTimings{
+        
+        @Override
+        public long getTimestamp(Stage stage){
+            return timestamps[stage.ordinal()];
+        }
+        
+        @Override
+        public long getElapsed(Stage stage){
+            long start = timestamps[Stage.START.ordinal()];
+            long timestamp = timestamps[stage.ordinal()];
+            
+            return start < 0L || timestamp < 0L ? -1L : timestamp - start;
+        }
+        
+        @Override
+        public long getDuration(Stage stage){
+            long timestamp = timestamps[stage.ordinal()];
+            if(timestamp < 0L)
+                return -1L;
+            
+            for(int i = stage.ordinal() - 1; i >= 0; i--){
+                if(timestamps[i] >= 0L)
+                    return timestamp - timestamps[i];
+            }
+            
+            return 0L;
+        }
+        
+        @Override
+        public int getListenerCount(){
+            return listeners;
+        }
+        
+        @Override
+        public long getListenerDuration(int index){
+            int count = listeners;
+            if(index < 0 || index >= count)
+                throw new IndexOutOfBoundsException("Listener index " + index + " out of bounds for " + count + " listeners");
+            
+            return listenerDurations[index];
+        }
+        
+        @Override
+        public long getTotal(){
+            long start = timestamps[Stage.START.ordinal()];
+            return start < 0L || last < 0L ? 0L : last - start;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.internal;
+
+import java.util.ArrayDeque;
+
+/**
+ * Small per-thread pool of {@link StringBuilder StringBuilders} reused for rendering texts.
+ * <br>Each thread keeps a few builders, so that rendering started while another render is in progress on the same
+ * thread (i.e. from within a placeholder) gets its own builder. Builders that grew beyond a certain capacity are
+ * dropped on release to not hold onto large arrays indefinitely.
+ */
+public class StringBuilderPool{
+    
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MAX_CAPACITY = 8192;
+    private static final int MAX_POOLED = 4;
+    
+    private static final ThreadLocal<ArrayDeque<StringBuilder>> POOL = ThreadLocal.withInitial(() -> new ArrayDeque<>(MAX_POOLED));
+    
+    private StringBuilderPool(){}
+    
+    /**
+     * Takes an empty StringBuilder from the current thread's pool, creating a new one if none is available.
+     * <br>The builder should be returned using {@link #release(StringBuilder) release(StringBuilder)} once no longer used.
+     *
+     * @return An empty StringBuilder.
+     */
+    public static StringBuilder acquire(){
+        StringBuilder builder = POOL.get().pollFirst();
+        return builder == null ? new StringBuilder(INITIAL_CAPACITY) : builder;
+    }
+    
+    /**
+     * Returns the provided StringBuilder to the current thread's pool.
+     * <br>The builder may not be used after it has been released.
+     *
+     * @param builder
+     *        The StringBuilder to return.
+     */
+    public static void release(StringBuilder builder){
+        if(builder.capacity() > MAX_CAPACITY)
+            return;
+        
+        ArrayDeque<StringBuilder> pool = POOL.get();
+        if(pool.size() >= MAX_POOLED)
+            return;
+        
+        builder.setLength(0);
+        pool.addFirst(builder);
+    }
+}
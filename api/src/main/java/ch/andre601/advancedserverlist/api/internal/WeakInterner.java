@@ -0,0 +1,118 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe interner holding weak references to canonical instances.
+ * <br>Canonical instances are removed once no longer strongly referenced elsewhere. The hash code of each instance is
+ * computed only once when it is first interned.
+ *
+ * @param <T>
+ *        The type of the instances to intern. Needs to be immutable and implement equals and hashCode.
+ */
+public class WeakInterner<T>{
+    
+    private final Map<Key<T>, Key<T>> canonical = new ConcurrentHashMap<>();
+    private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+    
+    /**
+     * Returns the canonical instance equal to the provided one, making the provided instance the canonical one should
+     * no such instance exist yet.
+     *
+     * @param  value
+     *         The instance to intern.
+     *
+     * @return The canonical instance equal to the provided one.
+     */
+    public T intern(T value){
+        CheckUtil.isNull("Value", value);
+        expungeCleared();
+        
+        Key<T> key = new Key<>(value, queue);
+        while(true){
+            Key<T> existing = canonical.putIfAbsent(key, key);
+            if(existing == null)
+                return value;
+            
+            T instance = existing.get();
+            if(instance != null)
+                return instance;
+            
+            // Canonical instance got collected but was not expunged yet.
+            canonical.remove(existing, existing);
+        }
+    }
+    
+    /**
+     * Returns the number of canonical instances currently held, including ones that got collected but were not removed
+     * yet.
+     *
+     * @return Number of canonical instances held.
+     */
+    public int size(){
+        expungeCleared();
+        return canonical.size();
+    }
+    
+    private void expungeCleared(){
+        Reference<? extends T> reference;
+        while((reference = queue.poll()) != null){
+            canonical.remove(reference);
+        }
+    }
+    
+    private static final class Key<T> extends WeakReference<T>{
+        
+        private final int hash;
+        
+        Key(T value, ReferenceQueue<T> queue){
+            super(value, queue);
+            this.hash = value.hashCode();
+        }
+        
+        @Override
+        public int hashCode(){
+            return hash;
+        }
+        
+        @Override
+        public boolean equals(Object obj){
+            if(this == obj)
+                return true;
+            
+            if(!(obj instanceof Key<?> other) || other.hash != hash)
+                return false;
+            
+            Object value = get();
+            return value != null && value.equals(other.get());
+        }
+    }
+}
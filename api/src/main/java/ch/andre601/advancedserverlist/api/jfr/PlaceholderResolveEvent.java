@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering a call of a {@link ch.andre601.advancedserverlist.api.PlaceholderProvider PlaceholderProvider}.
+ * <br>Emitted by {@link ch.andre601.advancedserverlist.api.PlaceholderProviderHandle PlaceholderProviderHandle} for
+ * every guarded call and by {@link ch.andre601.advancedserverlist.api.CachingPlaceholderProvider CachingPlaceholderProvider}
+ * for every cache lookup.
+ */
+@Name("ch.andre601.advancedserverlist.PlaceholderResolve")
+@Label("Placeholder Resolve")
+@Category({"AdvancedServerList", "Placeholders"})
+@Description("Call of a PlaceholderProvider to resolve one or more placeholders")
+@StackTrace(false)
+public final class PlaceholderResolveEvent extends Event{
+    
+    @Label("Provider")
+    @Description("Identifier of the PlaceholderProvider")
+    private String provider;
+    
+    @Label("Placeholder")
+    @Description("The placeholder(s) resolved, without the identifier")
+    private String placeholder;
+    
+    @Label("Cache Hit")
+    @Description("Whether the result was taken from a cache")
+    private boolean cacheHit;
+    
+    @Label("Failed")
+    @Description("Whether the provider threw an exception")
+    private boolean failed;
+    
+    /**
+     * Creates a new PlaceholderResolveEvent.
+     * <br>Call {@link #begin() begin()} before resolving the placeholder and
+     * {@link #complete(String, String, boolean, boolean) complete} afterwards.
+     */
+    public PlaceholderResolveEvent(){}
+    
+    /**
+     * Ends this event and commits it with the provided values, should it be enabled and exceed the recording's
+     * threshold.
+     *
+     * @param provider
+     *        Identifier of the PlaceholderProvider.
+     * @param placeholder
+     *        The placeholder resolved, without the identifier.
+     * @param cacheHit
+     *        Whether the result was taken from a cache.
+     * @param failed
+     *        Whether the provider threw an exception.
+     */
+    public void complete(String provider, String placeholder, boolean cacheHit, boolean failed){
+        end();
+        if(!shouldCommit())
+            return;
+        
+        this.provider = provider;
+        this.placeholder = placeholder;
+        this.cacheHit = cacheHit;
+        this.failed = failed;
+        commit();
+    }
+}
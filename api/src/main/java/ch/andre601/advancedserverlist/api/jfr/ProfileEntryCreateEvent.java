@@ -0,0 +1,78 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the creation of a {@link ch.andre601.advancedserverlist.api.profiles.ProfileEntry ProfileEntry}.
+ * <br>Emitted by the ProfileEntry constructor, which includes copying the MOTD and player lines.
+ */
+@Name("ch.andre601.advancedserverlist.ProfileEntryCreate")
+@Label("ProfileEntry Creation")
+@Category({"AdvancedServerList", "Profiles"})
+@Description("Creation of a ProfileEntry")
+@StackTrace(false)
+public final class ProfileEntryCreateEvent extends Event{
+    
+    @Label("MOTD Lines")
+    @Description("Number of MOTD lines of the ProfileEntry")
+    private int motdLines;
+    
+    @Label("Player Lines")
+    @Description("Number of player lines of the ProfileEntry")
+    private int playerLines;
+    
+    /**
+     * Creates a new ProfileEntryCreateEvent.
+     * <br>Call {@link #begin() begin()} before creating the ProfileEntry and {@link #complete(int, int) complete}
+     * afterwards.
+     */
+    public ProfileEntryCreateEvent(){}
+    
+    /**
+     * Ends this event and commits it with the provided values, should it be enabled and exceed the recording's
+     * threshold.
+     *
+     * @param motdLines
+     *        Number of MOTD lines of the ProfileEntry.
+     * @param playerLines
+     *        Number of player lines of the ProfileEntry.
+     */
+    public void complete(int motdLines, int playerLines){
+        end();
+        if(!shouldCommit())
+            return;
+        
+        this.motdLines = motdLines;
+        this.playerLines = playerLines;
+        commit();
+    }
+}
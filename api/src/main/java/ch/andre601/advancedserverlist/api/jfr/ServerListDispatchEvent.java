@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.jfr;
+
+import ch.andre601.advancedserverlist.api.events.GenericServerListEvent;
+import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event covering the dispatch of a PreServerListSetEvent to its listeners.
+ * <br>Recorded by the {@code fire} method of each platform's PreServerListSetEvent.
+ */
+@Name("ch.andre601.advancedserverlist.ServerListDispatch")
+@Label("PreServerListSetEvent Dispatch")
+@Category({"AdvancedServerList", "Events"})
+@Description("Dispatch of a PreServerListSetEvent to all its listeners")
+@StackTrace(false)
+public final class ServerListDispatchEvent extends Event{
+    
+    @Label("Platform")
+    @Description("The platform the event has been dispatched on")
+    private String platform;
+    
+    @Label("Listener Count")
+    @Description("Number of listeners the event has been dispatched to, or -1 if unknown")
+    private int listenerCount;
+    
+    @Label("Cancelled")
+    @Description("Whether a listener cancelled the event")
+    private boolean cancelled;
+    
+    @Label("Entry Replaced")
+    @Description("Whether a listener replaced the ProfileEntry")
+    private boolean entryReplaced;
+    
+    /**
+     * Creates a new ServerListDispatchEvent.
+     * <br>Call {@link #begin() begin()} before dispatching the PreServerListSetEvent and
+     * {@link #complete(String, int, GenericServerListEvent, ProfileEntry) complete} afterwards.
+     */
+    public ServerListDispatchEvent(){}
+    
+    /**
+     * Ends this event and commits it with the values of the provided PreServerListSetEvent, should it be enabled and
+     * exceed the recording's threshold.
+     *
+     * @param platform
+     *        The platform the event has been dispatched on.
+     * @param listenerCount
+     *        Number of listeners the event has been dispatched to, or {@code -1} should the number not be known.
+     * @param event
+     *        The PreServerListSetEvent after it has been dispatched.
+     * @param original
+     *        The {@link ProfileEntry ProfileEntry} the PreServerListSetEvent has been created with.
+     */
+    public void complete(String platform, int listenerCount, GenericServerListEvent event, ProfileEntry original){
+        end();
+        if(!shouldCommit())
+            return;
+        
+        this.platform = platform;
+        this.listenerCount = listenerCount;
+        this.cancelled = event.isCancelled();
+        this.entryReplaced = event.getEntry() != original;
+        commit();
+    }
+}
@@ -57,4 +57,17 @@ public interface GenericServer{
      * @return Possibly-null String containing the IP/Domain that got pinged by the player.
      */
     String getHost();
+    
+    /**
+     * Returns the most recent {@link ServerSnapshot ServerSnapshot} of the Server/Proxy.
+     * <br>The snapshot is shared across pings and allows reading the player counts of backend servers without
+     * iterating platform-specific maps.
+     *
+     * <p>Returns {@code null} by default should the platform not provide any snapshots.
+     *
+     * @return Possibly-null ServerSnapshot of the Server/Proxy.
+     */
+    default ServerSnapshot getSnapshot(){
+        return null;
+    }
 }
@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.objects;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Table mapping Minecraft {@link GenericPlayer#getProtocol() protocol versions} to readable release versions
+ * (i.e. 1.19.3) and back.
+ * <br>The table is built once when this class is first used. Looking up a protocol version is a single array access
+ * and all returned Strings are interned.
+ *
+ * <p>Protocol versions unknown to this table, such as ones of snapshots or newer releases, return {@code null} or
+ * {@code -1} respectively.
+ *
+ * <h4>Example</h4>
+ * <pre>{@code
+ * // Resolve the version once...
+ * int minimum = ProtocolVersions.getProtocol("1.19");
+ *
+ * // ...and compare the protocol on every ping.
+ * if(player.getProtocol() >= minimum) {
+ *     // Player uses 1.19 or newer
+ * }
+ * }</pre>
+ */
+public final class ProtocolVersions{
+    
+    private static final String[] FIRST_VERSIONS;
+    private static final String[] LAST_VERSIONS;
+    private static final String[] VERSION_RANGES;
+    private static final Map<String, Integer> PROTOCOLS = new HashMap<>();
+    
+    static{
+        Object[][] versions = {
+            {4, "1.7.2", "1.7.3", "1.7.4", "1.7.5"},
+            {5, "1.7.6", "1.7.7", "1.7.8", "1.7.9", "1.7.10"},
+            {47, "1.8", "1.8.1", "1.8.2", "1.8.3", "1.8.4", "1.8.5", "1.8.6", "1.8.7", "1.8.8", "1.8.9"},
+            {107, "1.9"},
+            {108, "1.9.1"},
+            {109, "1.9.2"},
+            {110, "1.9.3", "1.9.4"},
+            {210, "1.10", "1.10.1", "1.10.2"},
+            {315, "1.11"},
+            {316, "1.11.1", "1.11.2"},
+            {335, "1.12"},
+            {338, "1.12.1"},
+            {340, "1.12.2"},
+            {393, "1.13"},
+            {401, "1.13.1"},
+            {404, "1.13.2"},
+            {477, "1.14"},
+            {480, "1.14.1"},
+            {485, "1.14.2"},
+            {490, "1.14.3"},
+            {498, "1.14.4"},
+            {573, "1.15"},
+            {575, "1.15.1"},
+            {578, "1.15.2"},
+            {735, "1.16"},
+            {736, "1.16.1"},
+            {751, "1.16.2"},
+            {753, "1.16.3"},
+            {754, "1.16.4", "1.16.5"},
+            {755, "1.17"},
+            {756, "1.17.1"},
+            {757, "1.18", "1.18.1"},
+            {758, "1.18.2"},
+            {759, "1.19"},
+            {760, "1.19.1", "1.19.2"},
+            {761, "1.19.3"},
+            {762, "1.19.4"},
+            {763, "1.20", "1.20.1"},
+            {764, "1.20.2"},
+            {765, "1.20.3", "1.20.4"},
+            {766, "1.20.5", "1.20.6"},
+            {767, "1.21", "1.21.1"},
+            {768, "1.21.2", "1.21.3"},
+            {769, "1.21.4"},
+            {770, "1.21.5"},
+            {771, "1.21.6"},
+            {772, "1.21.7", "1.21.8"}
+        };
+        
+        int size = (int)versions[versions.length - 1][0] + 1;
+        FIRST_VERSIONS = new String[size];
+        LAST_VERSIONS = new String[size];
+        VERSION_RANGES = new String[size];
+        
+        for(Object[] entry : versions){
+            int protocol = (int)entry[0];
+            String first = (String)entry[1];
+            String last = (String)entry[entry.length - 1];
+            
+            FIRST_VERSIONS[protocol] = first;
+            LAST_VERSIONS[protocol] = last;
+            VERSION_RANGES[protocol] = first.equals(last) ? first : (first + "-" + last).intern();
+            
+            for(int i = 1; i < entry.length; i++){
+                PROTOCOLS.put((String)entry[i], protocol);
+            }
+        }
+    }
+    
+    private ProtocolVersions(){}
+    
+    /**
+     * Returns the newest release version using the provided protocol version (i.e. {@code 1.16.5} for protocol 754).
+     *
+     * @param  protocol
+     *         The protocol version to get the release version of.
+     *
+     * @return Possibly-null release version using the protocol version.
+     */
+    public static String getVersion(int protocol){
+        return isKnown(protocol) ? LAST_VERSIONS[protocol] : null;
+    }
+    
+    /**
+     * Returns the oldest release version using the provided protocol version (i.e. {@code 1.16.4} for protocol 754).
+     *
+     * @param  protocol
+     *         The protocol version to get the release version of.
+     *
+     * @return Possibly-null release version using the protocol version.
+     */
+    public static String getFirstVersion(int protocol){
+        return isKnown(protocol) ? FIRST_VERSIONS[protocol] : null;
+    }
+    
+    /**
+     * Returns the range of release versions using the provided protocol version (i.e. {@code 1.16.4-1.16.5} for
+     * protocol 754), or the release version itself should only one use the protocol version.
+     *
+     * @param  protocol
+     *         The protocol version to get the release versions of.
+     *
+     * @return Possibly-null range of release versions using the protocol version.
+     */
+    public static String getVersionRange(int protocol){
+        return isKnown(protocol) ? VERSION_RANGES[protocol] : null;
+    }
+    
+    /**
+     * Returns the protocol version used by the provided release version (i.e. {@code 754} for 1.16.5).
+     *
+     * @param  version
+     *         The release version to get the protocol version of.
+     *
+     * @return Protocol version of the release version, or {@code -1} should the release version be unknown.
+     */
+    public static int getProtocol(String version){
+        Integer protocol = PROTOCOLS.get(version);
+        return protocol == null ? -1 : protocol;
+    }
+    
+    /**
+     * Returns whether the provided protocol version is known to this table.
+     *
+     * @param  protocol
+     *         The protocol version to check.
+     *
+     * @return True if the protocol version is known, otherwise false.
+     */
+    public static boolean isKnown(int protocol){
+        return protocol >= 0 && protocol < LAST_VERSIONS.length && LAST_VERSIONS[protocol] != null;
+    }
+    
+    /**
+     * Returns whether the provided protocol version is the one of the provided release version or newer.
+     * <br>Prefer resolving the release version once through {@link #getProtocol(String) getProtocol(String)} when
+     * checking many protocol versions against the same release version.
+     *
+     * @param  protocol
+     *         The protocol version to check.
+     * @param  version
+     *         The release version to compare against.
+     *
+     * @return True if the protocol version is the one of the release version or newer, otherwise false. Also false
+     *         should the release version be unknown.
+     */
+    public static boolean isAtLeast(int protocol, String version){
+        int minimum = getProtocol(version);
+        return minimum >= 0 && protocol >= minimum;
+    }
+    
+    /**
+     * Returns whether the provided protocol version is between the ones of the provided release versions (both
+     * inclusive).
+     *
+     * @param  protocol
+     *         The protocol version to check.
+     * @param  from
+     *         The oldest release version to accept.
+     * @param  to
+     *         The newest release version to accept.
+     *
+     * @return True if the protocol version is between the ones of both release versions, otherwise false. Also false
+     *         should either release version be unknown.
+     */
+    public static boolean isBetween(int protocol, String from, String to){
+        int min = getProtocol(from);
+        int max = getProtocol(to);
+        
+        return min >= 0 && max >= 0 && protocol >= min && protocol <= max;
+    }
+}
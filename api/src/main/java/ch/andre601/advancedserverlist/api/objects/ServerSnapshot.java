@@ -0,0 +1,258 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.objects;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the player counts of a Server or Proxy and its backend servers.
+ * <br>A snapshot is created periodically by AdvancedServerList and shared across all pings until the next one is
+ * created. It can be obtained through {@link GenericServer#getSnapshot() GenericServer.getSnapshot()}.
+ *
+ * <p>Backend servers are stored in slots, allowing the player count of a server to be read without iterating any
+ * platform-specific maps. Use {@link #indexOf(String) indexOf(String)} once to find the slot of a server by its name.
+ * <br>On Spigot, Paper and other forks are the backends the worlds of the server.
+ */
+public final class ServerSnapshot{
+    
+    private final int playersOnline;
+    private final int playersMax;
+    private final String[] names;
+    private final int[] online;
+    private final Map<String, Integer> slots;
+    private final long createdAt;
+    
+    private ServerSnapshot(int playersOnline, int playersMax, String[] names, int[] online){
+        this.playersOnline = playersOnline;
+        this.playersMax = playersMax;
+        this.names = names;
+        this.online = online;
+        this.createdAt = System.currentTimeMillis();
+        
+        Map<String, Integer> slots = new HashMap<>(names.length * 2);
+        for(int i = 0; i < names.length; i++){
+            slots.putIfAbsent(names[i], i);
+        }
+        this.slots = slots;
+    }
+    
+    /**
+     * Creates a new {@link Builder Builder instance} to create a ServerSnapshot with.
+     *
+     * @return New Builder instance.
+     */
+    public static Builder builder(){
+        return new Builder();
+    }
+    
+    /**
+     * Returns the total number of players online.
+     *
+     * @return Total number of players online.
+     */
+    public int getPlayersOnline(){
+        return playersOnline;
+    }
+    
+    /**
+     * Returns the total number of players that can join.
+     *
+     * @return Total number of players that can join.
+     */
+    public int getPlayersMax(){
+        return playersMax;
+    }
+    
+    /**
+     * Returns the number of backend servers in this snapshot.
+     * <br>Valid slots range from {@code 0} (inclusive) to this number (exclusive).
+     *
+     * @return Number of backend servers.
+     */
+    public int getServerCount(){
+        return names.length;
+    }
+    
+    /**
+     * Returns the slot of the backend server with the provided name, or {@code -1} should no such server exist.
+     *
+     * @param  name
+     *         The name of the backend server.
+     *
+     * @return Slot of the backend server or {@code -1}.
+     */
+    public int indexOf(String name){
+        Integer slot = slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+    
+    /**
+     * Returns the name of the backend server in the provided slot.
+     *
+     * @param  slot
+     *         The slot of the backend server.
+     *
+     * @return Name of the backend server.
+     *
+     * @throws IndexOutOfBoundsException
+     *         When the slot is negative or not less than {@link #getServerCount() getServerCount()}.
+     */
+    public String getServerName(int slot){
+        return names[slot];
+    }
+    
+    /**
+     * Returns the number of players online on the backend server in the provided slot.
+     *
+     * @param  slot
+     *         The slot of the backend server.
+     *
+     * @return Number of players online on the backend server.
+     *
+     * @throws IndexOutOfBoundsException
+     *         When the slot is negative or not less than {@link #getServerCount() getServerCount()}.
+     */
+    public int getPlayersOnline(int slot){
+        return online[slot];
+    }
+    
+    /**
+     * Returns the number of players online on the backend server with the provided name, or {@code -1} should no
+     * such server exist.
+     *
+     * @param  name
+     *         The name of the backend server.
+     *
+     * @return Number of players online on the backend server or {@code -1}.
+     */
+    public int getPlayersOnline(String name){
+        int slot = indexOf(name);
+        return slot < 0 ? -1 : online[slot];
+    }
+    
+    /**
+     * Returns the time this snapshot has been created at, in milliseconds since the epoch.
+     *
+     * @return Creation time of this snapshot.
+     */
+    public long getCreatedAt(){
+        return createdAt;
+    }
+    
+    @Override
+    public String toString(){
+        return "ServerSnapshot[playersOnline=" + playersOnline + ", playersMax=" + playersMax + ", servers="
+            + Arrays.toString(names) + ", online=" + Arrays.toString(online) + "]";
+    }
+    
+    /**
+     * Builder class to create a new {@link ServerSnapshot ServerSnapshot instance}.
+     */
+    public static class Builder{
+        
+        private final List<String> names = new ArrayList<>();
+        private int[] online = new int[8];
+        private int playersOnline = -1;
+        private int playersMax = 0;
+        
+        private Builder(){}
+        
+        /**
+         * Adds a backend server with its number of players online.
+         * <br>Slots are assigned in the order the servers are added.
+         *
+         * @param  name
+         *         The name of the backend server.
+         * @param  playersOnline
+         *         The number of players online on the backend server.
+         *
+         * @return This Builder after the server has been added. Useful for chaining.
+         *
+         * @throws IllegalArgumentException
+         *         When the provided name is null.
+         */
+        public Builder addServer(String name, int playersOnline){
+            CheckUtil.isNull("Name", name);
+            
+            if(names.size() == online.length)
+                online = Arrays.copyOf(online, online.length * 2);
+            
+            online[names.size()] = playersOnline;
+            names.add(name);
+            return this;
+        }
+        
+        /**
+         * Sets the total number of players online.
+         * <br>Should this not be set will the sum of all added backend servers be used.
+         *
+         * @param  playersOnline
+         *         The total number of players online.
+         *
+         * @return This Builder after the number has been set. Useful for chaining.
+         */
+        public Builder setPlayersOnline(int playersOnline){
+            this.playersOnline = playersOnline;
+            return this;
+        }
+        
+        /**
+         * Sets the total number of players that can join.
+         *
+         * @param  playersMax
+         *         The total number of players that can join.
+         *
+         * @return This Builder after the number has been set. Useful for chaining.
+         */
+        public Builder setPlayersMax(int playersMax){
+            this.playersMax = playersMax;
+            return this;
+        }
+        
+        /**
+         * Creates a new {@link ServerSnapshot ServerSnapshot instance} with the values set in this Builder.
+         *
+         * @return New ServerSnapshot instance.
+         */
+        public ServerSnapshot build(){
+            int[] counts = Arrays.copyOf(online, names.size());
+            
+            int total = playersOnline;
+            if(total < 0){
+                total = 0;
+                for(int count : counts)
+                    total += count;
+            }
+            
+            return new ServerSnapshot(total, playersMax, names.toArray(new String[0]), counts);
+        }
+    }
+}
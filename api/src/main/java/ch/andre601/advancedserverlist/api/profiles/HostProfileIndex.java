@@ -0,0 +1,274 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.profiles;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index mapping the {@link ch.andre601.advancedserverlist.api.objects.GenericServer#getHost() host pinged by a player}
+ * to the {@link ProfileEntry ProfileEntries} configured for it.
+ *
+ * <p>Profiles are registered through host patterns:
+ * <ul>
+ *     <li>{@code play.example.com} matches this exact host only.</li>
+ *     <li>{@code *.example.com} matches any subdomain of {@code example.com}, but not {@code example.com} itself.</li>
+ *     <li>{@code *} matches any host and is used as the default.</li>
+ * </ul>
+ * Hosts are compared ignoring case and a trailing dot.
+ *
+ * <p>The list returned for a host contains the profiles of the exact pattern first, followed by the profiles of
+ * matching wildcard patterns from the most to the least specific one and lastly the default profiles.
+ * <br>Lists for exact hosts are computed when the index is {@link #reload(Map) reloaded}, so that looking them up only
+ * needs a single hash lookup. Any other host is resolved by walking a trie of the reversed host labels, with the
+ * result being remembered for up to {@value #MAX_RESOLVED_HOSTS} hosts until the next reload.
+ *
+ * <p>Reloading builds a new index before swapping it in atomically, meaning lookups running at the same time see
+ * either the old or the new profiles, but never a mix of both.
+ */
+public final class HostProfileIndex{
+    
+    /**
+     * The maximum number of hosts without an exact pattern whose resolved profiles are remembered.
+     */
+    public static final int MAX_RESOLVED_HOSTS = 1024;
+    
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    
+    /**
+     * Creates a new, empty HostProfileIndex.
+     */
+    public HostProfileIndex(){}
+    
+    /**
+     * Creates a new HostProfileIndex using the provided host patterns and profiles.
+     *
+     * @param profiles
+     *        Map of host patterns and the profiles used for them.
+     *
+     * @throws IllegalArgumentException
+     *         When a host pattern is invalid or any key or value is null.
+     *
+     * @see #reload(Map)
+     */
+    public HostProfileIndex(Map<String, ? extends List<ProfileEntry>> profiles){
+        reload(profiles);
+    }
+    
+    /**
+     * Returns the profiles used for the provided host.
+     * <br>The list is empty if neither a pattern matched nor default profiles have been set.
+     *
+     * @param  host
+     *         The host pinged by the player. May be null.
+     *
+     * @return Unmodifiable list of profiles for the host.
+     */
+    public List<ProfileEntry> getProfiles(String host){
+        Snapshot snapshot = this.snapshot;
+        if(host == null)
+            return snapshot.defaults;
+        
+        List<ProfileEntry> profiles = snapshot.exact.get(host);
+        if(profiles != null)
+            return profiles;
+        
+        String normalized = normalize(host);
+        if(!normalized.equals(host)){
+            profiles = snapshot.exact.get(normalized);
+            if(profiles != null)
+                return profiles;
+        }
+        
+        return snapshot.resolveCached(normalized);
+    }
+    
+    /**
+     * Replaces all host patterns and profiles of this index.
+     * <br>The new index is fully built before it replaces the current one, so that concurrent calls of
+     * {@link #getProfiles(String) getProfiles(String)} are never affected by a partial reload.
+     *
+     * @param  profiles
+     *         Map of host patterns and the profiles used for them.
+     *
+     * @throws IllegalArgumentException
+     *         When a host pattern is invalid or any key or value is null.
+     */
+    public void reload(Map<String, ? extends List<ProfileEntry>> profiles){
+        CheckUtil.isNull("Profiles", profiles);
+        
+        this.snapshot = Snapshot.of(profiles);
+    }
+    
+    /**
+     * Returns the number of host patterns in this index.
+     *
+     * @return Number of host patterns in this index.
+     */
+    public int size(){
+        return snapshot.size;
+    }
+    
+    private static String normalize(String host){
+        String normalized = host.toLowerCase(Locale.ROOT);
+        if(normalized.endsWith("."))
+            normalized = normalized.substring(0, normalized.length() - 1);
+        
+        return normalized;
+    }
+    
+    private static final class Node{
+        
+        private final Map<String, Node> children = new HashMap<>();
+        private List<ProfileEntry> wildcard = null;
+    }
+    
+    private static final class Snapshot{
+        
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), new Node(), List.of(), 0);
+        
+        private final Map<String, List<ProfileEntry>> exact;
+        private final Node root;
+        private final List<ProfileEntry> defaults;
+        private final int size;
+        
+        private final Map<String, List<ProfileEntry>> resolved = new ConcurrentHashMap<>();
+        
+        private Snapshot(Map<String, List<ProfileEntry>> exact, Node root, List<ProfileEntry> defaults, int size){
+            this.exact = exact;
+            this.root = root;
+            this.defaults = defaults;
+            this.size = size;
+        }
+        
+        static Snapshot of(Map<String, ? extends List<ProfileEntry>> profiles){
+            Map<String, List<ProfileEntry>> exactOnly = new LinkedHashMap<>();
+            Node root = new Node();
+            List<ProfileEntry> defaults = List.of();
+            
+            for(Map.Entry<String, ? extends List<ProfileEntry>> entry : profiles.entrySet()){
+                CheckUtil.isNull("Host pattern", entry.getKey());
+                CheckUtil.isNull("Profiles", entry.getValue());
+                
+                String pattern = normalize(entry.getKey().trim());
+                List<ProfileEntry> list = List.copyOf(entry.getValue());
+                
+                if(pattern.equals("*")){
+                    defaults = list;
+                }else if(pattern.startsWith("*.")){
+                    String suffix = pattern.substring(2);
+                    if(suffix.isEmpty() || suffix.contains("*"))
+                        throw new IllegalArgumentException("Invalid host pattern '" + entry.getKey() + "'!");
+                    
+                    Node node = root;
+                    String[] labels = suffix.split("\\.");
+                    for(int i = labels.length - 1; i >= 0; i--)
+                        node = node.children.computeIfAbsent(labels[i], k -> new Node());
+                    
+                    node.wildcard = list;
+                }else{
+                    if(pattern.isEmpty() || pattern.contains("*"))
+                        throw new IllegalArgumentException("Invalid host pattern '" + entry.getKey() + "'!");
+                    
+                    exactOnly.put(pattern, list);
+                }
+            }
+            
+            Snapshot wildcards = new Snapshot(Map.of(), root, defaults, 0);
+            Map<String, List<ProfileEntry>> exact = new HashMap<>();
+            for(Map.Entry<String, List<ProfileEntry>> entry : exactOnly.entrySet())
+                exact.put(entry.getKey(), wildcards.resolve(entry.getKey(), entry.getValue()));
+            
+            return new Snapshot(Map.copyOf(exact), root, defaults, profiles.size());
+        }
+        
+        /*
+         * Returns the remembered profiles of the host, resolving and remembering them should they not be known yet.
+         * Once MAX_RESOLVED_HOSTS hosts are remembered is the memo cleared, so that random hosts can't grow it.
+         */
+        List<ProfileEntry> resolveCached(String host){
+            List<ProfileEntry> profiles = resolved.get(host);
+            if(profiles != null)
+                return profiles;
+            
+            profiles = resolve(host, null);
+            if(resolved.size() >= MAX_RESOLVED_HOSTS)
+                resolved.clear();
+            
+            resolved.put(host, profiles);
+            return profiles;
+        }
+        
+        /*
+         * Walks the trie from the last label of the host towards the first one, collecting the profiles of every
+         * wildcard whose suffix is followed by at least one more label.
+         */
+        List<ProfileEntry> resolve(String host, List<ProfileEntry> exact){
+            List<List<ProfileEntry>> matches = null;
+            
+            Node node = root;
+            int end = host.length();
+            while(end > 0 && node != null){
+                int start = host.lastIndexOf('.', end - 1);
+                if(start < 0)
+                    break;
+                
+                node = node.children.get(host.substring(start + 1, end));
+                if(node != null && node.wildcard != null){
+                    if(matches == null)
+                        matches = new ArrayList<>(2);
+                    
+                    matches.add(node.wildcard);
+                }
+                
+                end = start;
+            }
+            
+            if(matches == null && exact == null)
+                return defaults;
+            
+            List<ProfileEntry> result = new ArrayList<>();
+            if(exact != null)
+                result.addAll(exact);
+            
+            if(matches != null){
+                Collections.reverse(matches);
+                for(List<ProfileEntry> match : matches)
+                    result.addAll(match);
+            }
+            
+            result.addAll(defaults);
+            return List.copyOf(result);
+        }
+    }
+}
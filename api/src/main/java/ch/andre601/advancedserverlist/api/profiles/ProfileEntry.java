@@ -24,7 +24,10 @@
 
 package ch.andre601.advancedserverlist.api.profiles;
 
+import ch.andre601.advancedserverlist.api.favicons.Favicon;
 import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.JfrEvents;
+import ch.andre601.advancedserverlist.api.internal.WeakInterner;
 import ch.andre601.advancedserverlist.api.objects.NullBool;
 
 import java.util.ArrayList;
@@ -36,21 +39,28 @@ import java.util.List;
  * <br>The content may come from either the "profiles" list, the options in the file itself (global options) or a
  * mix of both.
  *
- * <p>This class is immutable. Use {@link #builder() builder()} to get a {@link Builder Builder instance} with the values
- * of this class added.
+ * <p>This class is deeply immutable, meaning the {@link #motd() motd} and {@link #players() players} lists can't be
+ * modified either. Instances can therefore be shared freely without copying them.
+ * <br>Use {@link #builder() builder()} to get a {@link Builder Builder instance} with the values of this class added.
  */
 public record ProfileEntry(List<String> motd, List<String> players, String playerCountText, String favicon,
                            NullBool hidePlayersEnabled, NullBool extraPlayersEnabled, NullBool maxPlayersEnabled,
-                           Integer extraPlayersCount, Integer maxPlayersCount){
+                           Integer extraPlayersCount, Integer maxPlayersCount, Favicon resolvedFavicon){
+    
+    private static final WeakInterner<ProfileEntry> INTERNER = new WeakInterner<>();
     
     /**
      * Creates a new instance of a ProfileEntry with the given values.
      * <br>It's recommended to use the {@link Builder Builder class} for a more convenient configuration of the settings.
      *
+     * <p>The provided motd and players lists are copied into unmodifiable lists, unless they already are unmodifiable
+     * lists created through {@link List#of() List.of} or {@link List#copyOf(java.util.Collection) List.copyOf}.
+     * <br>The lists may contain {@code null} entries, which are kept as-is.
+     *
      * @param motd
-     *        The MOTD to use.
+     *        The MOTD to use. May contain null entries.
      * @param players
-     *        The players (lines) to show in the hover.
+     *        The players (lines) to show in the hover. May contain null entries.
      * @param playerCountText
      *        The text to display instead of the player count.
      * @param favicon
@@ -65,15 +75,56 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
      *        The number to add to the online players for the extra players.
      * @param maxPlayersCount
      *        The number to use for the max players count.
+     * @param resolvedFavicon
+     *        The resolved {@link Favicon Favicon} to use. May be {@code null}.
      * 
      * @see Builder ProfileEntry.Builder
      */
     public ProfileEntry{
+        Object event = JfrEvents.beginProfileEntryCreate();
+        
         CheckUtil.isNull("Motd", motd);
         CheckUtil.isNull("Players", players);
         CheckUtil.isNull("HidePlayersEnabled", hidePlayersEnabled);
         CheckUtil.isNull("ExtraPlayersEnabled", extraPlayersEnabled);
         CheckUtil.isNull("MaxPlayersEnabled", maxPlayersEnabled);
+        
+        motd = copyLines(motd);
+        players = copyLines(players);
+        
+        JfrEvents.completeProfileEntryCreate(event, motd.size(), players.size());
+    }
+    
+    /**
+     * Creates a new instance of a ProfileEntry with the given values and no {@link #resolvedFavicon() resolved Favicon}.
+     * <br>It's recommended to use the {@link Builder Builder class} for a more convenient configuration of the settings.
+     *
+     * @param motd
+     *        The MOTD to use. May contain null entries.
+     * @param players
+     *        The players (lines) to show in the hover. May contain null entries.
+     * @param playerCountText
+     *        The text to display instead of the player count.
+     * @param favicon
+     *        The favicon to use.
+     * @param hidePlayersEnabled
+     *        Whether player count should be hidden.
+     * @param extraPlayersEnabled
+     *        Whether the extra players option should be enabled.
+     * @param maxPlayersEnabled
+     *        Whether the max players option should be enabled.
+     * @param extraPlayersCount
+     *        The number to add to the online players for the extra players.
+     * @param maxPlayersCount
+     *        The number to use for the max players count.
+     *
+     * @see Builder ProfileEntry.Builder
+     */
+    public ProfileEntry(List<String> motd, List<String> players, String playerCountText, String favicon,
+                        NullBool hidePlayersEnabled, NullBool extraPlayersEnabled, NullBool maxPlayersEnabled,
+                        Integer extraPlayersCount, Integer maxPlayersCount){
+        this(motd, players, playerCountText, favicon, hidePlayersEnabled, extraPlayersEnabled, maxPlayersEnabled,
+            extraPlayersCount, maxPlayersCount, null);
     }
     
     /**
@@ -88,6 +139,7 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
      *     <li>{@link #maxPlayersEnabled() maxPlayersEnabled}: {@link NullBool#NOT_SET NullBoo.NOT_SET}</li>
      *     <li>{@link #extraPlayersCount() extraPlayersCount}: {@code null}</li>
      *     <li>{@link #maxPlayersCount() maxPlayersCount}: {@code null}</li>
+     *     <li>{@link #resolvedFavicon() resolvedFavicon}: {@code null}</li>
      * </ul>
      *
      * @return New ProfileEntry instance with empty/null values defined.
@@ -111,6 +163,8 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
      * 
      * If you want to modify the ProfileEntry should {@link #builder() builder()} be preferred.
      * 
+     * <p>As ProfileEntry is deeply immutable is a copy never required to safely share an instance.
+     * 
      * @return A copy of this ProfileEntry instance.
      * 
      * @see #builder() builder()
@@ -119,6 +173,21 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
         return this.builder().build();
     }
     
+    /**
+     * Returns a canonical instance of this ProfileEntry.
+     * <br>For any two ProfileEntry instances {@code a} and {@code b} is {@code a.intern() == b.intern()} true if, and
+     * only if, {@code a.equals(b)} is true.
+     *
+     * <p>This allows sharing structurally identical entries, for example across profiles or pings, and comparing them
+     * by identity instead of by {@link #equals(Object) equals}. Canonical instances are held weakly and removed once no
+     * longer in use.
+     *
+     * @return The canonical instance of this ProfileEntry.
+     */
+    public ProfileEntry intern(){
+        return INTERNER.intern(this);
+    }
+    
     /**
      * Creates a {@link Builder Builder instance} with the values from this ProfileEntry set.
      * <br>Use this method if you would like to modify the ProfileEntry.
@@ -135,11 +204,13 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
             .setExtraPlayersEnabled(extraPlayersEnabled())
             .setMaxPlayersEnabled(maxPlayersEnabled())
             .setExtraPlayersCount(extraPlayersCount())
-            .setMaxPlayersCount(maxPlayersCount());
+            .setMaxPlayersCount(maxPlayersCount())
+            .setResolvedFavicon(resolvedFavicon());
     }
     
     /**
      * Gets the currently set MOTD of this ProfileEntry.
+     * <br>The returned list is unmodifiable.
      *
      * @return The current MOTD used by this ProfileEntry.
      */
@@ -150,6 +221,7 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
     
     /**
      * Gets the currently set list of players of this ProfileEntry.
+     * <br>The returned list is unmodifiable.
      *
      * @return The current list of players used by this ProfileEntry.
      */
@@ -237,6 +309,17 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
         return maxPlayersCount;
     }
     
+    /**
+     * Gets the currently set resolved {@link Favicon Favicon} of this ProfileEntry.
+     * <br>Should this be set will it be used instead of resolving the {@link #favicon() favicon} String.
+     *
+     * @return Possibly-null resolved Favicon used by this ProfileEntry.
+     */
+    @Override
+    public Favicon resolvedFavicon(){
+        return resolvedFavicon;
+    }
+    
     /**
      * Whether this ProfileEntry is invalid or not.
      * <br>The ProfileEntry is considered invalid if all the following is true:
@@ -244,7 +327,7 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
      *     <li>{@link #motd() motd} is empty</li>
      *     <li>{@link #players() players} is empty</li>
      *     <li>{@link #playerCountText() playerCountText} is null/empty <b>and</b> {@link #hidePlayersEnabled () hidePlayersEnabled} is false</li>
-     *     <li>{@link #favicon() favicon} is null/empty</li>
+     *     <li>{@link #favicon() favicon} is null/empty <b>and</b> {@link #resolvedFavicon() resolvedFavicon} is null</li>
      * </ul>
      * As long as one of the above is <b>not</b> true is this ProfileEntry considered valid.
      *
@@ -254,7 +337,20 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
         return motd().isEmpty() &&
             players().isEmpty() &&
             ((playerCountText() == null || playerCountText().isEmpty()) && !hidePlayersEnabled().getOrDefault(false)) &&
-            (favicon() == null || favicon().isEmpty());
+            (favicon() == null || favicon().isEmpty()) && resolvedFavicon() == null;
+    }
+    
+    /*
+     * List.copyOf rejects null entries, which ProfileEntry always accepted, so lists containing any are copied into an
+     * unmodifiable ArrayList instead.
+     */
+    private static List<String> copyLines(List<String> lines){
+        for(String line : lines){
+            if(line == null)
+                return Collections.unmodifiableList(new ArrayList<>(lines));
+        }
+        
+        return List.copyOf(lines);
     }
     
     /**
@@ -271,6 +367,7 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
         private NullBool maxPlayersEnabled = NullBool.NOT_SET;
         private Integer extraPlayersCount = null;
         private Integer maxPlayersCount = null;
+        private Favicon resolvedFavicon = null;
         
         /**
          * Empty Builder Constructor used to create a new instance of this class.
@@ -284,7 +381,8 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
          * <br>Only the first two entries of the list will be considered and any additional ones discarded.
          * 
          * <p>An {@link java.lang.IllegalArgumentException IllegalArgumentException} may be thrown by the
-         * {@link CheckUtil CheckUtil} should the provided motd list be null.
+         * {@link CheckUtil CheckUtil} should the provided motd list be null. The list itself may contain {@code null}
+         * entries.
          * 
          * @param  motd
          *         The MOTD to use.
@@ -309,7 +407,8 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
          * <p>Set to an empty list to not change the hover text.
          *
          * <p>An {@link java.lang.IllegalArgumentException IllegalArgumentException} may be thrown by the
-         * {@link CheckUtil CheckUtil} should the provided players list be null.
+         * {@link CheckUtil CheckUtil} should the provided players list be null. The list itself may contain
+         * {@code null} entries.
          *
          * @param  players
          *         The lines to set for the hover.
@@ -471,6 +570,23 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
             return this;
         }
         
+        /**
+         * Sets the resolved {@link Favicon Favicon} to use.
+         * <br>Should this be set will it be used instead of resolving the {@link #setFavicon(String) favicon String},
+         * skipping any loading and encoding of the image.
+         *
+         * <p>Set to {@code null} to use the favicon String instead.
+         *
+         * @param  resolvedFavicon
+         *         The resolved Favicon to use.
+         *
+         * @return This Builder after the resolved Favicon has been set. Useful for chaining.
+         */
+        public Builder setResolvedFavicon(Favicon resolvedFavicon){
+            this.resolvedFavicon = resolvedFavicon;
+            return this;
+        }
+        
         /**
          * Creates a new {@link ProfileEntry ProfileEntry instance} with the values set in this Builder.
          *
@@ -478,7 +594,7 @@ public record ProfileEntry(List<String> motd, List<String> players, String playe
          */
         public ProfileEntry build(){
             return new ProfileEntry(motd, players, playerCountText, favicon, hidePlayersEnabled, extraPlayersEnabled,
-                maxPlayersEnabled, extraPlayersCount, maxPlayersCount);
+                maxPlayersEnabled, extraPlayersCount, maxPlayersCount, resolvedFavicon);
         }
     }
 }
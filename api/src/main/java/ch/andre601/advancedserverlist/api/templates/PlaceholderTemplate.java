@@ -0,0 +1,261 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.templates;
+
+import ch.andre601.advancedserverlist.api.AdvancedServerListAPI;
+import ch.andre601.advancedserverlist.api.Volatility;
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.StringBuilderPool;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled representation of a text containing placeholders in the format <code>${identifier placeholder}</code>.
+ * <br>Use {@link #compile(String) compile(String)} to create a new instance.
+ *
+ * <p>The text is scanned only once during compilation and split into literal parts and placeholders bound to their
+ * {@link ch.andre601.advancedserverlist.api.PlaceholderProviderHandle PlaceholderProviderHandle}. Rendering the
+ * template afterwards is a single pass over these parts.
+ *
+ * <p>This class is immutable and may be shared across threads.
+ */
+public final class PlaceholderTemplate{
+    
+    private final String text;
+    private final TemplateSegment[] segments;
+    private final boolean placeholders;
+    private final String staticText;
+    private final Volatility volatility;
+    
+    private PlaceholderTemplate(String text, TemplateSegment[] segments){
+        this.text = text;
+        this.segments = segments;
+        
+        Volatility volatility = Volatility.CONSTANT;
+        boolean placeholders = false;
+        for(TemplateSegment segment : segments){
+            if(segment instanceof TemplateSegment.Placeholder placeholder){
+                placeholders = true;
+                volatility = volatility.max(placeholder.volatility());
+            }
+        }
+        this.placeholders = placeholders;
+        this.volatility = volatility;
+        
+        // Without placeholders are all literal parts merged into at most one segment.
+        if(placeholders){
+            this.staticText = null;
+        }else{
+            this.staticText = segments.length == 0 ? "" : ((TemplateSegment.Literal)segments[0]).text();
+        }
+    }
+    
+    /**
+     * Compiles the provided text into a new PlaceholderTemplate.
+     * <br>Any <code>${identifier placeholder}</code> pattern is bound to the provider with the matching identifier,
+     * even if no such provider has been registered yet.
+     *
+     * <p>Placeholders whose provider declares them as {@link Volatility#CONSTANT CONSTANT} are resolved right away and
+     * become part of the literal text. This requires the provider to be registered before the text is compiled.
+     *
+     * @param  text
+     *         The text to compile.
+     *
+     * @return New PlaceholderTemplate for the provided text.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided text is null.
+     */
+    public static PlaceholderTemplate compile(String text){
+        CheckUtil.isNull("Text", text);
+        
+        List<TemplateSegment> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int literalStart = 0;
+        int index = text.indexOf("${");
+        while(index >= 0){
+            int close = findClose(text, index + 2);
+            int space = close < 0 ? -1 : text.indexOf(' ', index + 2);
+            if(close < 0 || space <= index + 2 || space >= close - 1 || containsWhitespace(text, index + 2, space)){
+                index = text.indexOf("${", index + 1);
+                continue;
+            }
+            
+            literal.append(text, literalStart, index);
+            
+            TemplateSegment.Placeholder placeholder = new TemplateSegment.Placeholder(
+                AdvancedServerListAPI.get().resolveHandle(text.substring(index + 2, space)),
+                text.substring(space + 1, close),
+                text.substring(index, close + 1)
+            );
+            
+            String constant = placeholder.resolveConstant();
+            if(constant != null){
+                literal.append(constant);
+            }else{
+                addLiteral(segments, literal);
+                segments.add(placeholder);
+            }
+            
+            literalStart = close + 1;
+            index = text.indexOf("${", literalStart);
+        }
+        
+        literal.append(text, literalStart, text.length());
+        addLiteral(segments, literal);
+        
+        return new PlaceholderTemplate(text, segments.toArray(new TemplateSegment[0]));
+    }
+    
+    /**
+     * Returns the original text this template was compiled from.
+     *
+     * @return The original text of this template.
+     */
+    public String getText(){
+        return text;
+    }
+    
+    /**
+     * Returns whether this template contains any placeholders left to resolve after
+     * {@link Volatility#CONSTANT constant} ones have been resolved during compilation.
+     * <br>A template without placeholders always renders to the same text.
+     *
+     * @return True if this template contains at least one placeholder to resolve, otherwise false.
+     */
+    public boolean hasPlaceholders(){
+        return placeholders;
+    }
+    
+    /**
+     * Returns what the rendered text of this template depends on, being the most volatile
+     * {@link Volatility Volatility} of its placeholders at the time it was compiled.
+     * <br>Placeholders without a registered provider are treated as {@link Volatility#PLAYER PLAYER}.
+     *
+     * @return The Volatility of this template.
+     */
+    public Volatility getVolatility(){
+        return volatility;
+    }
+    
+    /**
+     * Renders this template by appending the result to the provided {@link StringBuilder StringBuilder}.
+     * <br>This allows reusing the same StringBuilder for multiple templates.
+     *
+     * @param builder
+     *        The StringBuilder to append the rendered text to.
+     * @param player
+     *        The {@link GenericPlayer GenericPlayer instance} used.
+     * @param server
+     *        The {@link GenericServer GenericServer instance} used.
+     */
+    public void render(StringBuilder builder, GenericPlayer player, GenericServer server){
+        for(TemplateSegment segment : segments){
+            segment.render(builder, player, server);
+        }
+    }
+    
+    /**
+     * Renders this template into a new String.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return The rendered text.
+     */
+    public String render(GenericPlayer player, GenericServer server){
+        if(!hasPlaceholders())
+            return staticText;
+        
+        StringBuilder builder = StringBuilderPool.acquire();
+        try{
+            render(builder, player, server);
+            return builder.toString();
+        }finally{
+            StringBuilderPool.release(builder);
+        }
+    }
+    
+    void render(StringBuilder builder, Map<TemplateSegment.Placeholder, String> resolved){
+        for(TemplateSegment segment : segments){
+            if(segment instanceof TemplateSegment.Placeholder placeholder){
+                placeholder.append(builder, resolved.get(placeholder));
+            }else{
+                segment.render(builder, null, null);
+            }
+        }
+    }
+    
+    /*
+     * The text this template always renders to, or null if it contains placeholders.
+     */
+    String staticText(){
+        return staticText;
+    }
+    
+    void collectPlaceholders(Collection<TemplateSegment.Placeholder> placeholders){
+        for(TemplateSegment segment : segments){
+            if(segment instanceof TemplateSegment.Placeholder placeholder)
+                placeholders.add(placeholder);
+        }
+    }
+    
+    private static void addLiteral(List<TemplateSegment> segments, StringBuilder literal){
+        if(literal.isEmpty())
+            return;
+        
+        segments.add(new TemplateSegment.Literal(literal.toString()));
+        literal.setLength(0);
+    }
+    
+    private static int findClose(String text, int from){
+        for(int i = from; i < text.length(); i++){
+            char c = text.charAt(i);
+            if(c == '}')
+                return i;
+            
+            if(c == '{')
+                return -1;
+        }
+        
+        return -1;
+    }
+    
+    private static boolean containsWhitespace(String text, int start, int end){
+        for(int i = start; i < end; i++){
+            if(Character.isWhitespace(text.charAt(i)))
+                return true;
+        }
+        
+        return false;
+    }
+}
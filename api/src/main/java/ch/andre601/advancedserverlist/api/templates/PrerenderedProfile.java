@@ -0,0 +1,221 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.templates;
+
+import ch.andre601.advancedserverlist.api.Volatility;
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.StringBuilderPool;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link ProfileTemplate ProfileTemplate} whose texts are only rendered as often as their
+ * {@link Volatility Volatility} requires.
+ * <br>Use {@link ProfileTemplate#prerender(Duration) ProfileTemplate.prerender(Duration)} to create a new instance.
+ *
+ * <p>Each text is handled based on its own Volatility:
+ * <ul>
+ *     <li>{@link Volatility#CONSTANT CONSTANT} texts are rendered once.</li>
+ *     <li>{@link Volatility#TIMED TIMED} and {@link Volatility#SERVER SERVER} texts are rendered once and re-used until
+ *     the refresh interval passed, after which the next ping renders them again. Other pings keep using the previous
+ *     texts meanwhile.</li>
+ *     <li>{@link Volatility#PLAYER PLAYER} texts are rendered on every ping.</li>
+ * </ul>
+ * Should no text depend on the player will {@link #get(GenericPlayer, GenericServer) get} return the same
+ * {@link ProfileEntry ProfileEntry} instance until the next refresh.
+ *
+ * <p>This class is safe to use from multiple threads.
+ */
+public final class PrerenderedProfile{
+    
+    private final ProfileTemplate template;
+    private final long refreshNanos;
+    private final boolean expires;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    
+    private volatile Snapshot snapshot = null;
+    
+    PrerenderedProfile(ProfileTemplate template, Duration refreshInterval){
+        CheckUtil.isNull("Refresh interval", refreshInterval);
+        if(refreshInterval.isNegative())
+            throw new IllegalArgumentException("Refresh interval may not be negative!");
+        
+        this.template = template;
+        this.refreshNanos = refreshInterval.toNanos();
+        
+        boolean expires = false;
+        for(PlaceholderTemplate line : template.motdTemplates())
+            expires |= isTimed(line);
+        for(PlaceholderTemplate line : template.playersTemplates())
+            expires |= isTimed(line);
+        if(template.playerCountTextTemplate() != null)
+            expires |= isTimed(template.playerCountTextTemplate());
+        this.expires = expires;
+    }
+    
+    /**
+     * Returns the {@link ProfileTemplate ProfileTemplate} this instance renders.
+     *
+     * @return The ProfileTemplate of this instance.
+     */
+    public ProfileTemplate getTemplate(){
+        return template;
+    }
+    
+    /**
+     * Returns a {@link ProfileEntry ProfileEntry} with all texts rendered for the provided player and server.
+     * <br>Texts not depending on the player are taken from the last render if it hasn't expired yet.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return ProfileEntry with all placeholders rendered.
+     */
+    public ProfileEntry get(GenericPlayer player, GenericServer server){
+        Snapshot snapshot = current(player, server);
+        if(snapshot.entry != null)
+            return snapshot.entry;
+        
+        StringBuilder builder = StringBuilderPool.acquire();
+        try{
+            PlaceholderTemplate playerCountText = template.playerCountTextTemplate();
+            
+            return template.getEntry().builder()
+                .setMotd(renderAll(template.motdTemplates(), snapshot.motd, builder, player, server))
+                .setPlayers(renderAll(template.playersTemplates(), snapshot.players, builder, player, server))
+                .setPlayerCountText(playerCountText == null ? null : snapshot.playerCountText != null
+                    ? snapshot.playerCountText
+                    : renderOne(playerCountText, builder, player, server))
+                .build();
+        }finally{
+            StringBuilderPool.release(builder);
+        }
+    }
+    
+    /**
+     * Discards all previously rendered texts, forcing the next call of
+     * {@link #get(GenericPlayer, GenericServer) get} to render them again.
+     */
+    public void invalidate(){
+        this.snapshot = null;
+    }
+    
+    private Snapshot current(GenericPlayer player, GenericServer server){
+        Snapshot snapshot = this.snapshot;
+        if(snapshot != null && (!expires || System.nanoTime() - snapshot.renderedAt < refreshNanos))
+            return snapshot;
+        
+        // Only one thread refreshes an existing snapshot, while others keep using the previous one.
+        if(snapshot != null && !refreshing.compareAndSet(false, true))
+            return snapshot;
+        
+        try{
+            Snapshot rendered = render(player, server);
+            this.snapshot = rendered;
+            return rendered;
+        }finally{
+            if(snapshot != null)
+                refreshing.set(false);
+        }
+    }
+    
+    private Snapshot render(GenericPlayer player, GenericServer server){
+        StringBuilder builder = StringBuilderPool.acquire();
+        try{
+            String[] motd = prerenderAll(template.motdTemplates(), builder, player, server);
+            String[] players = prerenderAll(template.playersTemplates(), builder, player, server);
+            String playerCountText = prerenderOne(template.playerCountTextTemplate(), builder, player, server);
+            
+            ProfileEntry entry = null;
+            if(template.getVolatility() != Volatility.PLAYER){
+                entry = template.getEntry().builder()
+                    .setMotd(Arrays.asList(motd))
+                    .setPlayers(Arrays.asList(players))
+                    .setPlayerCountText(playerCountText)
+                    .build();
+            }
+            
+            return new Snapshot(System.nanoTime(), motd, players, playerCountText, entry);
+        }finally{
+            StringBuilderPool.release(builder);
+        }
+    }
+    
+    private static boolean isTimed(PlaceholderTemplate template){
+        Volatility volatility = template.getVolatility();
+        return volatility == Volatility.TIMED || volatility == Volatility.SERVER;
+    }
+    
+    private static String[] prerenderAll(PlaceholderTemplate[] templates, StringBuilder builder, GenericPlayer player,
+                                         GenericServer server){
+        String[] lines = new String[templates.length];
+        for(int i = 0; i < templates.length; i++){
+            lines[i] = prerenderOne(templates[i], builder, player, server);
+        }
+        
+        return lines;
+    }
+    
+    private static String prerenderOne(PlaceholderTemplate template, StringBuilder builder, GenericPlayer player,
+                                       GenericServer server){
+        if(template == null || template.getVolatility() == Volatility.PLAYER)
+            return null;
+        
+        return renderOne(template, builder, player, server);
+    }
+    
+    private static List<String> renderAll(PlaceholderTemplate[] templates, String[] prerendered, StringBuilder builder,
+                                          GenericPlayer player, GenericServer server){
+        List<String> lines = new ArrayList<>(templates.length);
+        for(int i = 0; i < templates.length; i++){
+            lines.add(prerendered[i] != null ? prerendered[i] : renderOne(templates[i], builder, player, server));
+        }
+        
+        return lines;
+    }
+    
+    private static String renderOne(PlaceholderTemplate template, StringBuilder builder, GenericPlayer player,
+                                    GenericServer server){
+        if(!template.hasPlaceholders())
+            return template.staticText();
+        
+        builder.setLength(0);
+        template.render(builder, player, server);
+        
+        return builder.toString();
+    }
+    
+    private record Snapshot(long renderedAt, String[] motd, String[] players, String playerCountText,
+                            ProfileEntry entry){}
+}
@@ -0,0 +1,511 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.templates;
+
+import ch.andre601.advancedserverlist.api.AsyncPlaceholderProvider;
+import ch.andre601.advancedserverlist.api.PlaceholderProvider;
+import ch.andre601.advancedserverlist.api.PlaceholderProviderHandle;
+import ch.andre601.advancedserverlist.api.Volatility;
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.StringBuilderPool;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compiled version of a {@link ProfileEntry ProfileEntry}.
+ * <br>Use {@link #compile(ProfileEntry) compile(ProfileEntry)} to create a new instance.
+ *
+ * <p>The {@link ProfileEntry#motd() motd}, {@link ProfileEntry#players() players} and
+ * {@link ProfileEntry#playerCountText() playerCountText} are compiled into {@link PlaceholderTemplate PlaceholderTemplates}
+ * once, which is intended to be done whenever the configuration is (re)loaded rather than on every ping.
+ * <br>{@code null} lines are compiled as empty lines.
+ *
+ * <p>This class is immutable and may be shared across threads.
+ */
+public final class ProfileTemplate{
+    
+    private final ProfileEntry entry;
+    private final PlaceholderTemplate[] motd;
+    private final PlaceholderTemplate[] players;
+    private final PlaceholderTemplate playerCountText;
+    private final PlaceholderGroup[] groups;
+    private final Volatility volatility;
+    
+    private ProfileTemplate(ProfileEntry entry){
+        this.entry = entry;
+        this.motd = compileAll(entry.motd());
+        this.players = compileAll(entry.players());
+        this.playerCountText = entry.playerCountText() == null ? null : PlaceholderTemplate.compile(entry.playerCountText());
+        
+        // Identical placeholders are only resolved once per render.
+        Set<TemplateSegment.Placeholder> placeholders = new LinkedHashSet<>();
+        for(PlaceholderTemplate template : motd)
+            template.collectPlaceholders(placeholders);
+        for(PlaceholderTemplate template : players)
+            template.collectPlaceholders(placeholders);
+        if(playerCountText != null)
+            playerCountText.collectPlaceholders(placeholders);
+        
+        Map<PlaceholderProviderHandle, List<TemplateSegment.Placeholder>> grouped = new LinkedHashMap<>();
+        for(TemplateSegment.Placeholder placeholder : placeholders)
+            grouped.computeIfAbsent(placeholder.handle(), k -> new ArrayList<>()).add(placeholder);
+        
+        this.groups = grouped.entrySet().stream()
+            .map(group -> PlaceholderGroup.of(group.getKey(), group.getValue()))
+            .toArray(PlaceholderGroup[]::new);
+        
+        Volatility volatility = Volatility.CONSTANT;
+        for(PlaceholderTemplate template : motd)
+            volatility = volatility.max(template.getVolatility());
+        for(PlaceholderTemplate template : players)
+            volatility = volatility.max(template.getVolatility());
+        if(playerCountText != null)
+            volatility = volatility.max(playerCountText.getVolatility());
+        this.volatility = volatility;
+    }
+    
+    /**
+     * Compiles the text fields of the provided {@link ProfileEntry ProfileEntry} into a new ProfileTemplate.
+     *
+     * @param  entry
+     *         The ProfileEntry to compile.
+     *
+     * @return New ProfileTemplate for the provided ProfileEntry.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided ProfileEntry is null.
+     */
+    public static ProfileTemplate compile(ProfileEntry entry){
+        CheckUtil.isNull("ProfileEntry", entry);
+        
+        return new ProfileTemplate(entry);
+    }
+    
+    /**
+     * Returns the {@link ProfileEntry ProfileEntry} this template was compiled from.
+     *
+     * @return The original ProfileEntry of this template.
+     */
+    public ProfileEntry getEntry(){
+        return entry;
+    }
+    
+    /**
+     * Returns what the rendered texts of this template depend on, being the most volatile
+     * {@link PlaceholderTemplate#getVolatility() Volatility} of its texts.
+     *
+     * @return The Volatility of this template.
+     */
+    public Volatility getVolatility(){
+        return volatility;
+    }
+    
+    /**
+     * Creates a new {@link PrerenderedProfile PrerenderedProfile} re-using the texts of this template that don't depend
+     * on the player.
+     *
+     * @param  refreshInterval
+     *         How long {@link Volatility#TIMED TIMED} and {@link Volatility#SERVER SERVER} texts are re-used before
+     *         being rendered again.
+     *
+     * @return New PrerenderedProfile for this template.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided refreshInterval is null or negative.
+     */
+    public PrerenderedProfile prerender(Duration refreshInterval){
+        return new PrerenderedProfile(this, refreshInterval);
+    }
+    
+    /**
+     * Renders the MOTD lines of this template.
+     *
+     * @param  builder
+     *         The reusable {@link StringBuilder StringBuilder} used to render each line. Its content is discarded.
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return List containing the rendered MOTD lines.
+     */
+    public List<String> renderMotd(StringBuilder builder, GenericPlayer player, GenericServer server){
+        return renderAll(motd, builder, player, server);
+    }
+    
+    /**
+     * Renders the player lines of this template.
+     *
+     * @param  builder
+     *         The reusable {@link StringBuilder StringBuilder} used to render each line. Its content is discarded.
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return List containing the rendered player lines.
+     */
+    public List<String> renderPlayers(StringBuilder builder, GenericPlayer player, GenericServer server){
+        return renderAll(players, builder, player, server);
+    }
+    
+    /**
+     * Renders the player count text of this template.
+     *
+     * @param  builder
+     *         The reusable {@link StringBuilder StringBuilder} used to render the text. Its content is discarded.
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return The rendered player count text, or {@code null} if the original ProfileEntry had none set.
+     */
+    public String renderPlayerCountText(StringBuilder builder, GenericPlayer player, GenericServer server){
+        return playerCountText == null ? null : renderOne(playerCountText, builder, player, server);
+    }
+    
+    /**
+     * Renders the MOTD lines of this template using a {@link StringBuilder StringBuilder} pooled for the current thread.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return List containing the rendered MOTD lines.
+     */
+    public List<String> renderMotd(GenericPlayer player, GenericServer server){
+        StringBuilder builder = StringBuilderPool.acquire();
+        try{
+            return renderMotd(builder, player, server);
+        }finally{
+            StringBuilderPool.release(builder);
+        }
+    }
+    
+    /**
+     * Renders the player lines of this template using a {@link StringBuilder StringBuilder} pooled for the current
+     * thread.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return List containing the rendered player lines.
+     */
+    public List<String> renderPlayers(GenericPlayer player, GenericServer server){
+        StringBuilder builder = StringBuilderPool.acquire();
+        try{
+            return renderPlayers(builder, player, server);
+        }finally{
+            StringBuilderPool.release(builder);
+        }
+    }
+    
+    /**
+     * Renders the player count text of this template using a {@link StringBuilder StringBuilder} pooled for the current
+     * thread.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return The rendered player count text, or {@code null} if the original ProfileEntry had none set.
+     */
+    public String renderPlayerCountText(GenericPlayer player, GenericServer server){
+        StringBuilder builder = StringBuilderPool.acquire();
+        try{
+            return renderPlayerCountText(builder, player, server);
+        }finally{
+            StringBuilderPool.release(builder);
+        }
+    }
+    
+    /**
+     * Renders all text fields of this template and returns a new {@link ProfileEntry ProfileEntry} containing the
+     * rendered texts alongside the remaining values of the {@link #getEntry() original ProfileEntry}.
+     *
+     * <p>Unlike {@link #render(GenericPlayer, GenericServer) render(GenericPlayer, GenericServer)} are placeholders not
+     * grouped, but appended directly to a pooled {@link StringBuilder StringBuilder} through
+     * {@link PlaceholderProvider#appendPlaceholder(String, GenericPlayer, GenericServer, StringBuilder) appendPlaceholder},
+     * so that only the final texts are allocated. This is preferable when the used providers don't benefit from
+     * resolving their placeholders in batches.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return New ProfileEntry with all placeholders rendered.
+     */
+    public ProfileEntry renderDirect(GenericPlayer player, GenericServer server){
+        StringBuilder builder = StringBuilderPool.acquire();
+        try{
+            return entry.builder()
+                .setMotd(renderMotd(builder, player, server))
+                .setPlayers(renderPlayers(builder, player, server))
+                .setPlayerCountText(renderPlayerCountText(builder, player, server))
+                .build();
+        }finally{
+            StringBuilderPool.release(builder);
+        }
+    }
+    
+    /**
+     * Renders all text fields of this template and returns a new {@link ProfileEntry ProfileEntry} containing the
+     * rendered texts alongside the remaining values of the {@link #getEntry() original ProfileEntry}.
+     *
+     * <p>Placeholders are grouped by their identifier, calling
+     * {@link PlaceholderProvider#parsePlaceholders(Collection, GenericPlayer, GenericServer) parsePlaceholders} only
+     * once per {@link PlaceholderProvider PlaceholderProvider}.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     *
+     * @return New ProfileEntry with all placeholders rendered.
+     */
+    public ProfileEntry render(GenericPlayer player, GenericServer server){
+        Map<TemplateSegment.Placeholder, String> resolved = new HashMap<>();
+        for(PlaceholderGroup group : groups){
+            group.resolve(resolved, player, server);
+        }
+        
+        return render(resolved);
+    }
+    
+    /**
+     * Resolves all placeholders of this template concurrently and returns a {@link CompletableFuture CompletableFuture}
+     * completing with a new {@link ProfileEntry ProfileEntry} containing the rendered texts alongside the remaining
+     * values of the {@link #getEntry() original ProfileEntry}.
+     *
+     * <p>Placeholders of an {@link AsyncPlaceholderProvider AsyncPlaceholderProvider} are resolved through
+     * {@link PlaceholderProviderHandle#resolvePlaceholderAsync(String, GenericPlayer, GenericServer) PlaceholderProviderHandle.resolvePlaceholderAsync},
+     * guarded by the provider's circuit breaker,
+     * while any other placeholder is resolved directly on the calling thread, grouped by its provider. Should the deadline pass before all
+     * placeholders are resolved will the {@link AsyncPlaceholderProvider#getFallback(String, GenericPlayer, GenericServer) fallback}
+     * be used for any remaining placeholder.
+     *
+     * <p>The entry is rendered on the {@link ForkJoinPool#commonPool() common pool}. Use
+     * {@link #renderAsync(GenericPlayer, GenericServer, Duration, Executor) renderAsync(GenericPlayer, GenericServer, Duration, Executor)}
+     * to provide a different {@link Executor Executor}.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     * @param  deadline
+     *         The maximum time to wait for all placeholders to be resolved.
+     *
+     * @return CompletableFuture completing with a new ProfileEntry with all placeholders rendered.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided deadline is null.
+     */
+    public CompletableFuture<ProfileEntry> renderAsync(GenericPlayer player, GenericServer server, Duration deadline){
+        return renderAsync(player, server, deadline, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Resolves all placeholders of this template concurrently, just like
+     * {@link #renderAsync(GenericPlayer, GenericServer, Duration) renderAsync(GenericPlayer, GenericServer, Duration)},
+     * but renders the entry on the provided {@link Executor Executor}.
+     * <br>This keeps the JDK's shared timeout thread free should the deadline pass.
+     *
+     * @param  player
+     *         The {@link GenericPlayer GenericPlayer instance} used.
+     * @param  server
+     *         The {@link GenericServer GenericServer instance} used.
+     * @param  deadline
+     *         The maximum time to wait for all placeholders to be resolved.
+     * @param  executor
+     *         The Executor used to render the entry.
+     *
+     * @return CompletableFuture completing with a new ProfileEntry with all placeholders rendered.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided deadline or executor is null.
+     */
+    public CompletableFuture<ProfileEntry> renderAsync(GenericPlayer player, GenericServer server, Duration deadline,
+                                                      Executor executor){
+        CheckUtil.isNull("Deadline", deadline);
+        CheckUtil.isNull("Executor", executor);
+        
+        Map<TemplateSegment.Placeholder, String> resolved = new HashMap<>();
+        List<TemplateSegment.Placeholder> pending = new ArrayList<>();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for(PlaceholderGroup group : groups){
+            if(!(group.handle().getProvider() instanceof AsyncPlaceholderProvider)){
+                group.resolve(resolved, player, server);
+                continue;
+            }
+            
+            for(TemplateSegment.Placeholder placeholder : group.placeholders()){
+                pending.add(placeholder);
+                futures.add(group.handle().resolvePlaceholderAsync(placeholder.placeholder(), player, server));
+            }
+        }
+        
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+            .completeOnTimeout(null, deadline.toNanos(), TimeUnit.NANOSECONDS)
+            .thenApplyAsync(ignored -> {
+                for(int i = 0; i < pending.size(); i++){
+                    resolved.put(pending.get(i), resultOf(futures.get(i), pending.get(i), player, server));
+                }
+                
+                return render(resolved);
+            }, executor);
+    }
+    
+    private ProfileEntry render(Map<TemplateSegment.Placeholder, String> resolved){
+        StringBuilder builder = StringBuilderPool.acquire();
+        try{
+            return entry.builder()
+                .setMotd(renderAll(motd, builder, resolved))
+                .setPlayers(renderAll(players, builder, resolved))
+                .setPlayerCountText(playerCountText == null ? null : renderOne(playerCountText, builder, resolved))
+                .build();
+        }finally{
+            StringBuilderPool.release(builder);
+        }
+    }
+    
+    private static String resultOf(CompletableFuture<String> future, TemplateSegment.Placeholder placeholder,
+                                   GenericPlayer player, GenericServer server){
+        if(future.isDone() && !future.isCompletedExceptionally())
+            return future.join();
+        
+        if(placeholder.handle().getProvider() instanceof AsyncPlaceholderProvider provider)
+            return provider.getFallback(placeholder.placeholder(), player, server);
+        
+        return null;
+    }
+    
+    private static List<String> renderAll(PlaceholderTemplate[] templates, StringBuilder builder,
+                                          Map<TemplateSegment.Placeholder, String> resolved){
+        List<String> lines = new ArrayList<>(templates.length);
+        for(PlaceholderTemplate template : templates){
+            lines.add(renderOne(template, builder, resolved));
+        }
+        
+        return lines;
+    }
+    
+    private static String renderOne(PlaceholderTemplate template, StringBuilder builder,
+                                    Map<TemplateSegment.Placeholder, String> resolved){
+        if(!template.hasPlaceholders())
+            return template.staticText();
+        
+        builder.setLength(0);
+        template.render(builder, resolved);
+        
+        return builder.toString();
+    }
+    
+    PlaceholderTemplate[] motdTemplates(){
+        return motd;
+    }
+    
+    PlaceholderTemplate[] playersTemplates(){
+        return players;
+    }
+    
+    PlaceholderTemplate playerCountTextTemplate(){
+        return playerCountText;
+    }
+    
+    private static PlaceholderTemplate[] compileAll(List<String> lines){
+        PlaceholderTemplate[] templates = new PlaceholderTemplate[lines.size()];
+        for(int i = 0; i < templates.length; i++){
+            String line = lines.get(i);
+            templates[i] = PlaceholderTemplate.compile(line == null ? "" : line);
+        }
+        
+        return templates;
+    }
+    
+    private static List<String> renderAll(PlaceholderTemplate[] templates, StringBuilder builder, GenericPlayer player,
+                                          GenericServer server){
+        List<String> lines = new ArrayList<>(templates.length);
+        for(PlaceholderTemplate template : templates){
+            lines.add(renderOne(template, builder, player, server));
+        }
+        
+        return lines;
+    }
+    
+    private static String renderOne(PlaceholderTemplate template, StringBuilder builder, GenericPlayer player,
+                                    GenericServer server){
+        if(!template.hasPlaceholders())
+            return template.staticText();
+        
+        builder.setLength(0);
+        template.render(builder, player, server);
+        
+        return builder.toString();
+    }
+    
+    private record PlaceholderGroup(PlaceholderProviderHandle handle, List<String> names,
+                                    TemplateSegment.Placeholder[] placeholders){
+        
+        static PlaceholderGroup of(PlaceholderProviderHandle handle, List<TemplateSegment.Placeholder> placeholders){
+            List<String> names = placeholders.stream()
+                .map(TemplateSegment.Placeholder::placeholder)
+                .distinct()
+                .toList();
+            
+            return new PlaceholderGroup(handle, names, placeholders.toArray(new TemplateSegment.Placeholder[0]));
+        }
+        
+        void resolve(Map<TemplateSegment.Placeholder, String> resolved, GenericPlayer player, GenericServer server){
+            Map<String, String> results = handle.parsePlaceholders(names, player, server);
+            if(results == null)
+                return;
+            
+            for(TemplateSegment.Placeholder placeholder : placeholders){
+                resolved.put(placeholder, results.get(placeholder.placeholder()));
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.templates;
+
+import ch.andre601.advancedserverlist.api.PlaceholderProvider;
+import ch.andre601.advancedserverlist.api.PlaceholderProviderHandle;
+import ch.andre601.advancedserverlist.api.Volatility;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+
+/**
+ * Single part of a {@link PlaceholderTemplate PlaceholderTemplate}.
+ */
+sealed interface TemplateSegment{
+    
+    void render(StringBuilder builder, GenericPlayer player, GenericServer server);
+    
+    /**
+     * Text that is appended as-is.
+     */
+    record Literal(String text) implements TemplateSegment{
+        
+        @Override
+        public void render(StringBuilder builder, GenericPlayer player, GenericServer server){
+            builder.append(text);
+        }
+    }
+    
+    /**
+     * Placeholder bound to the {@link PlaceholderProviderHandle PlaceholderProviderHandle} of its identifier.
+     * <br>The raw text is appended unchanged should no provider be registered or the provider return {@code null}.
+     */
+    record Placeholder(PlaceholderProviderHandle handle, String placeholder, String raw) implements TemplateSegment{
+        
+        @Override
+        public void render(StringBuilder builder, GenericPlayer player, GenericServer server){
+            if(!handle.appendPlaceholder(placeholder, player, server, builder))
+                builder.append(raw);
+        }
+        
+        Volatility volatility(){
+            PlaceholderProvider provider = handle.getProvider();
+            return provider == null ? Volatility.PLAYER : provider.getVolatility(placeholder);
+        }
+        
+        /*
+         * Returns the result of this placeholder if its provider declares it as constant, otherwise null.
+         * The provider is called directly rather than through the handle's guard, as a fallback returned by an open
+         * circuit breaker would otherwise be folded into the template permanently. Any failure keeps the placeholder
+         * dynamic.
+         */
+        String resolveConstant(){
+            PlaceholderProvider provider = handle.getProvider();
+            if(provider == null)
+                return null;
+            
+            try{
+                if(provider.getVolatility(placeholder) != Volatility.CONSTANT)
+                    return null;
+                
+                return provider.parsePlaceholder(placeholder, null, null);
+            }catch(RuntimeException | LinkageError ex){
+                return null;
+            }
+        }
+        
+        String resolve(GenericPlayer player, GenericServer server){
+            return handle.parsePlaceholder(placeholder, player, server);
+        }
+        
+        void append(StringBuilder builder, String result){
+            builder.append(result == null ? raw : result);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.benchmarks;
+
+import ch.andre601.advancedserverlist.api.AdvancedServerListAPI;
+import ch.andre601.advancedserverlist.api.PlaceholderProvider;
+import ch.andre601.advancedserverlist.api.PlaceholderProviderHandle;
+import ch.andre601.advancedserverlist.api.objects.GenericPlayer;
+import ch.andre601.advancedserverlist.api.objects.GenericServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks looking up a {@link PlaceholderProvider PlaceholderProvider} through the {@link AdvancedServerListAPI},
+ * as done for every placeholder of every ping.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PlaceholderProviderBenchmark{
+    
+    private static final String[] IDENTIFIERS = {"server", "player", "playerversion", "myplugin", "otherplugin"};
+    
+    private AdvancedServerListAPI api;
+    private PlaceholderProviderHandle handle;
+    
+    @Setup
+    public void setup(){
+        api = AdvancedServerListAPI.get();
+        for(String identifier : IDENTIFIERS){
+            if(api.retrievePlaceholderProvider(identifier) == null)
+                api.addPlaceholderProvider(new NoopProvider(identifier));
+        }
+        
+        handle = api.resolveHandle("myplugin");
+    }
+    
+    @Benchmark
+    public PlaceholderProvider retrieveLowercase(){
+        return api.retrievePlaceholderProvider("myplugin");
+    }
+    
+    @Benchmark
+    public PlaceholderProvider retrieveMixedCase(){
+        return api.retrievePlaceholderProvider("MyPlugin");
+    }
+    
+    @Benchmark
+    public PlaceholderProvider retrieveMissing(){
+        return api.retrievePlaceholderProvider("missing");
+    }
+    
+    @Benchmark
+    public PlaceholderProvider retrieveSlice(){
+        return api.retrievePlaceholderProvider("${myplugin value}", 2, 10);
+    }
+    
+    @Benchmark
+    public PlaceholderProvider retrieveHandle(){
+        return handle.getProvider();
+    }
+    
+    private static class NoopProvider extends PlaceholderProvider{
+        
+        NoopProvider(String identifier){
+            super(identifier);
+        }
+        
+        @Override
+        public String parsePlaceholder(String placeholder, GenericPlayer player, GenericServer server){
+            return placeholder;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.benchmarks;
+
+import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+import ch.andre601.advancedserverlist.api.velocity.events.PreServerListSetEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PreServerListSetEvent#setEntry(ProfileEntry) PreServerListSetEvent.setEntry(ProfileEntry)}.
+ * <br>The Velocity event is used as it does not depend on a running platform. The Bukkit and BungeeCord events share
+ * the same implementation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class PreServerListSetEventBenchmark{
+    
+    @State(Scope.Benchmark)
+    public static class Entries{
+        
+        ProfileEntry entry;
+        
+        @Setup
+        public void setup(){
+            entry = new ProfileEntry.Builder()
+                .setMotd(List.of("<aqua>Welcome ${player name}", "<gray>Online: ${server playersOnline}"))
+                .setPlayers(List.of("Line 1", "Line 2", "Line 3"))
+                .setPlayerCountText("${server playersOnline}/${server playersMax}")
+                .build();
+        }
+    }
+    
+    @State(Scope.Thread)
+    public static class Event{
+        
+        PreServerListSetEvent event;
+        
+        @Setup
+        public void setup(){
+            event = new PreServerListSetEvent(ProfileEntry.empty()){};
+        }
+    }
+    
+    @Benchmark
+    public ProfileEntry setEntry(Entries entries, Event event){
+        event.event.setEntry(entries.entry);
+        
+        return event.event.getEntry();
+    }
+    
+    @Benchmark
+    public PreServerListSetEvent createAndSetEntry(Entries entries){
+        PreServerListSetEvent event = new PreServerListSetEvent(entries.entry){};
+        event.setEntry(entries.entry);
+        
+        return event;
+    }
+}
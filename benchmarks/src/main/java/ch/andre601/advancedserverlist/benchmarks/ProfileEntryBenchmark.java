@@ -0,0 +1,97 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.benchmarks;
+
+import ch.andre601.advancedserverlist.api.objects.NullBool;
+import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks creating, copying and validating {@link ProfileEntry ProfileEntry} instances.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class ProfileEntryBenchmark{
+    
+    private ProfileEntry entry;
+    private ProfileEntry empty;
+    
+    @Setup
+    public void setup(){
+        entry = new ProfileEntry.Builder()
+            .setMotd(List.of("<aqua>Welcome ${player name}", "<gray>Online: ${server playersOnline}"))
+            .setPlayers(List.of("Line 1", "Line 2", "Line 3"))
+            .setPlayerCountText("${server playersOnline}/${server playersMax}")
+            .setFavicon("${player uuid}")
+            .setHidePlayersEnabled(NullBool.FALSE)
+            .setExtraPlayersEnabled(NullBool.TRUE)
+            .setExtraPlayersCount(1)
+            .build();
+        empty = ProfileEntry.empty();
+    }
+    
+    @Benchmark
+    public ProfileEntry.Builder builder(){
+        return entry.builder();
+    }
+    
+    @Benchmark
+    public ProfileEntry builderBuild(){
+        return entry.builder().build();
+    }
+    
+    @Benchmark
+    public ProfileEntry copy(){
+        return entry.copy();
+    }
+    
+    @Benchmark
+    public boolean isInvalid(){
+        return entry.isInvalid();
+    }
+    
+    @Benchmark
+    public boolean isInvalidEmpty(){
+        return empty.isInvalid();
+    }
+}
@@ -26,13 +26,20 @@ package ch.andre601.advancedserverlist.api.bukkit.events;
 
 
 import ch.andre601.advancedserverlist.api.events.GenericServerListEvent;
+import ch.andre601.advancedserverlist.api.events.PingTimings;
 import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.JfrEvents;
+import ch.andre601.advancedserverlist.api.internal.PingTimingsRecorder;
 import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+import org.bukkit.Bukkit;
 import org.bukkit.event.Cancellable;
 import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.RegisteredListener;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.logging.Level;
+
 /**
  * Called <b>before</b> AdvancedServerList modifies the server list.
  * <br>The provided {@link #getEntry() ProfileEntry} will be the one used for the server list.
@@ -41,6 +48,8 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
     
     private static final HandlerList HANDLERS = new HandlerList();
     
+    private final PingTimings timings;
+    
     private ProfileEntry entry;
     private boolean cancelled;
     
@@ -51,8 +60,116 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
      *        The initial {@link ProfileEntry ProfileEntry} to use for this event.
      */
     public PreServerListSetEvent(ProfileEntry entry){
+        this(entry, PingTimings.empty());
+    }
+    
+    /**
+     * Constructor for creating a new PreServerListSetEvent instance with the {@link PingTimings PingTimings} recorded
+     * for the current ping.
+     * 
+     * @param entry
+     *        The initial {@link ProfileEntry ProfileEntry} to use for this event.
+     * @param timings
+     *        The PingTimings recorded for the current ping.
+     * 
+     * @throws IllegalArgumentException
+     *         When the provided PingTimings are null.
+     */
+    public PreServerListSetEvent(ProfileEntry entry, PingTimings timings){
         super(true);
+        CheckUtil.isNull("PingTimings", timings);
+        
         this.entry = entry;
+        this.timings = timings;
+    }
+    
+    /**
+     * Calls the provided event through Bukkit's {@link org.bukkit.plugin.PluginManager PluginManager} and records a
+     * {@link ch.andre601.advancedserverlist.api.jfr.ServerListDispatchEvent ServerListDispatchEvent} for Java Flight Recorder.
+     * 
+     * @param  <E>
+     *         The type of the event.
+     * @param  event
+     *         The event to call.
+     * 
+     * @return The provided event after all listeners have been called.
+     * 
+     * @throws IllegalArgumentException
+     *         When the provided event is null.
+     */
+    public static <E extends PreServerListSetEvent> E fire(E event){
+        CheckUtil.isNull("Event", event);
+        
+        Object dispatch = JfrEvents.beginServerListDispatch();
+        
+        ProfileEntry original = event.getEntry();
+        Bukkit.getPluginManager().callEvent(event);
+        
+        JfrEvents.completeServerListDispatch(dispatch, "bukkit", HANDLERS.getRegisteredListeners().length, event, original);
+        return event;
+    }
+    
+    /**
+     * Calls the provided event for each registered listener and records the time each listener took in the provided
+     * {@link PingTimingsRecorder PingTimingsRecorder}, next to a
+     * {@link ch.andre601.advancedserverlist.api.jfr.ServerListDispatchEvent ServerListDispatchEvent} for Java Flight
+     * Recorder.
+     * <br>The event should have been created with the recorder's {@link PingTimingsRecorder#view() view}, so that
+     * listeners can see the durations of the listeners called before them.
+     * 
+     * <p>Listeners are called in the order of {@link HandlerList#getRegisteredListeners() getRegisteredListeners()}
+     * in the same way Bukkit's {@link org.bukkit.plugin.PluginManager PluginManager} would call them: Listeners of
+     * disabled plugins are skipped and exceptions thrown by a listener are logged to its plugin's logger without
+     * stopping the remaining listeners. A skipped listener is recorded with a duration of about {@code 0}, to keep the
+     * indices of the recorded durations in line with the registered listeners.
+     * 
+     * @param  <E>
+     *         The type of the event.
+     * @param  event
+     *         The event to call.
+     * @param  recorder
+     *         The PingTimingsRecorder to record the listener durations in.
+     * 
+     * @return The provided event after all listeners have been called.
+     * 
+     * @throws IllegalArgumentException
+     *         When the provided event or PingTimingsRecorder is null.
+     * @throws IllegalStateException
+     *         When called from the primary server thread.
+     */
+    public static <E extends PreServerListSetEvent> E fire(E event, PingTimingsRecorder recorder){
+        CheckUtil.isNull("Event", event);
+        CheckUtil.isNull("PingTimingsRecorder", recorder);
+        if(event.isAsynchronous() && Bukkit.isPrimaryThread())
+            throw new IllegalStateException(event.getEventName() + " cannot be triggered asynchronously from primary server thread.");
+        
+        Object dispatch = JfrEvents.beginServerListDispatch();
+        
+        ProfileEntry original = event.getEntry();
+        RegisteredListener[] listeners = HANDLERS.getRegisteredListeners();
+        for(RegisteredListener listener : listeners){
+            long started = System.nanoTime();
+            if(listener.getPlugin().isEnabled())
+                callListener(listener, event);
+            
+            recorder.markListener(started);
+        }
+        
+        JfrEvents.completeServerListDispatch(dispatch, "bukkit", listeners.length, event, original);
+        return event;
+    }
+    
+    /**
+     * Returns whether any listener is registered for this event.
+     * <br>AdvancedServerList uses this to skip creating and calling this event when nobody listens for it.
+     * 
+     * <p>The registered listeners are read from the {@link HandlerList HandlerList}, which caches them until a listener
+     * is added or removed, making this check cheap.
+     * 
+     * @return True if at least one listener is registered, otherwise false.
+     */
+    public static boolean hasListeners(){
+        return HANDLERS.getRegisteredListeners().length > 0;
     }
     
     /**
@@ -78,7 +195,7 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
      * Sets the new {@link ProfileEntry} to use.
      * <br>This may not be {@code null}.
      *
-     * <p>Note that a new copy of the entry will be made using {@link ProfileEntry#copy() ProfileEntry.copy()}.
+     * <p>As {@link ProfileEntry ProfileEntry} is immutable is the provided instance stored as-is without copying it.
      *
      * @param entry
      *        The new {@link ProfileEntry} to use.
@@ -90,7 +207,23 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
     public void setEntry(ProfileEntry entry){
         CheckUtil.isNull("ProfileEntry", entry);
         
-        this.entry = entry.copy();
+        this.entry = entry;
+    }
+    
+    /**
+     * Returns the {@link PingTimings PingTimings} recorded for the ping this event has been called for.
+     * <br>The timings cover the stages reached before this event has been called and, when called through
+     * {@link #fire(PreServerListSetEvent, PingTimingsRecorder) fire(event, recorder)}, the durations of the listeners
+     * called so far.
+     *
+     * <p>The returned instance may be re-used for a later ping and should therefore not be kept after handling this
+     * event.
+     *
+     * @return The PingTimings of the current ping.
+     */
+    @Override
+    public PingTimings getTimings(){
+        return timings;
     }
     
     /**
@@ -118,4 +251,13 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
     public @NotNull HandlerList getHandlers(){
         return HANDLERS;
     }
+    
+    // Mirrors the error handling of Bukkit's SimplePluginManager, so one failing listener doesn't affect the others.
+    private static void callListener(RegisteredListener listener, PreServerListSetEvent event){
+        try{
+            listener.callEvent(event);
+        }catch(Throwable ex){
+            listener.getPlugin().getLogger().log(Level.SEVERE, "Could not pass event " + event.getEventName() + " to " + listener.getPlugin().getName(), ex);
+        }
+    }
 }
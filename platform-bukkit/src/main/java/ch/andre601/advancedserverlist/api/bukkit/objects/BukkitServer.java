@@ -41,6 +41,8 @@ public interface BukkitServer extends GenericServer{
     /**
      * Returns a Map&lt;String, World&gt; where the key is the name of the World and the value the World of the Server.
      *
+     * <p>Use {@link #getSnapshot() getSnapshot()} instead should you only need the player counts of the worlds.
+     *
      * @return Possibly-empty Map containing a world name and World instance.
      */
     Map<String, World> getWorlds();
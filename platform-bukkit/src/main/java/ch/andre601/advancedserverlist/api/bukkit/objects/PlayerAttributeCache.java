@@ -0,0 +1,235 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2022-2023 Andre_601
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package ch.andre601.advancedserverlist.api.bukkit.objects;
+
+import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.ExpiringCache;
+import org.bukkit.OfflinePlayer;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Cache for the attributes of a {@link BukkitPlayer BukkitPlayer} that require a lookup on the server, namely
+ * {@link BukkitPlayer#hasPlayedBefore() hasPlayedBefore()}, {@link BukkitPlayer#isBanned() isBanned()} and
+ * {@link BukkitPlayer#isWhitelisted() isWhitelisted()}.
+ *
+ * <p>Use {@link #wrap(BukkitPlayer) wrap(BukkitPlayer)} to get a BukkitPlayer whose attributes are resolved at most once
+ * per ping and taken from this cache whenever possible.
+ * <br>Cached attributes older than the refresh time are still returned, but refreshed in the background using the
+ * provided {@link Executor Executor}. Attributes older than the expiry time are resolved again on the calling thread.
+ *
+ * <p>The {@link OfflinePlayer OfflinePlayer} itself is never cached, as it may be the live instance of an online player
+ * that would otherwise be kept after they left. It is looked up at most once per ping instead.
+ */
+public class PlayerAttributeCache{
+    
+    private final ExpiringCache<UUID, Attributes> cache;
+    private final long refreshAfterNanos;
+    private final long expireAfterNanos;
+    private final Executor executor;
+    
+    private final Set<UUID> refreshing = ConcurrentHashMap.newKeySet();
+    
+    /**
+     * Creates a new PlayerAttributeCache.
+     *
+     * @param refreshAfter
+     *        How old cached attributes need to be for a background refresh to be scheduled. Needs to be positive.
+     * @param expireAfter
+     *        How old cached attributes may be at most before they are no longer used. Needs to be larger than
+     *        refreshAfter.
+     * @param maxSize
+     *        The maximum number of players to cache attributes of. Needs to be positive.
+     * @param executor
+     *        The {@link Executor Executor} used to refresh attributes in the background.
+     *
+     * @throws IllegalArgumentException
+     *         When refreshAfter, expireAfter or executor is null, refreshAfter or maxSize is not positive, or
+     *         expireAfter is not larger than refreshAfter.
+     */
+    public PlayerAttributeCache(Duration refreshAfter, Duration expireAfter, int maxSize, Executor executor){
+        CheckUtil.isNull("RefreshAfter", refreshAfter);
+        CheckUtil.isNull("ExpireAfter", expireAfter);
+        CheckUtil.isNull("Executor", executor);
+        
+        if(refreshAfter.isNegative() || refreshAfter.isZero())
+            throw new IllegalArgumentException("RefreshAfter needs to be positive!");
+        
+        if(expireAfter.compareTo(refreshAfter) <= 0)
+            throw new IllegalArgumentException("ExpireAfter needs to be larger than RefreshAfter!");
+        
+        this.cache = new ExpiringCache<>(maxSize);
+        this.refreshAfterNanos = refreshAfter.toNanos();
+        this.expireAfterNanos = expireAfter.toNanos();
+        this.executor = executor;
+    }
+    
+    /**
+     * Wraps the provided {@link BukkitPlayer BukkitPlayer} into one taking its attributes from this cache.
+     * <br>The returned instance should only be used for a single ping.
+     *
+     * @param  player
+     *         The BukkitPlayer to wrap.
+     *
+     * @return BukkitPlayer using this cache.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided BukkitPlayer is null.
+     */
+    public BukkitPlayer wrap(BukkitPlayer player){
+        CheckUtil.isNull("BukkitPlayer", player);
+        
+        return new CachedBukkitPlayer(player);
+    }
+    
+    /**
+     * Removes the cached attributes of the player with the provided UUID, for example after the player got banned.
+     *
+     * @param uuid
+     *        The UUID of the player.
+     */
+    public void invalidate(UUID uuid){
+        cache.invalidate(uuid);
+    }
+    
+    /**
+     * Removes all cached attributes.
+     */
+    public void invalidateAll(){
+        cache.invalidateAll();
+    }
+    
+    /**
+     * Returns how often cached attributes could be used.
+     *
+     * @return Number of cache hits.
+     */
+    public long getHitCount(){
+        return cache.getHitCount();
+    }
+    
+    /**
+     * Returns how often attributes had to be resolved on the calling thread.
+     *
+     * @return Number of cache misses.
+     */
+    public long getMissCount(){
+        return cache.getMissCount();
+    }
+    
+    private Attributes attributesOf(BukkitPlayer player){
+        UUID uuid = player.getUUID();
+        Attributes cached = cache.getIfPresent(uuid);
+        if(cached == null)
+            return load(player);
+        
+        if(System.nanoTime() - cached.loadedAt() >= refreshAfterNanos && refreshing.add(uuid)){
+            try{
+                executor.execute(() -> {
+                    try{
+                        load(player);
+                    }finally{
+                        refreshing.remove(uuid);
+                    }
+                });
+            }catch(RejectedExecutionException ex){
+                refreshing.remove(uuid);
+            }
+        }
+        
+        return cached;
+    }
+    
+    private Attributes load(BukkitPlayer player){
+        Attributes attributes = new Attributes(player.hasPlayedBefore(), player.isBanned(), player.isWhitelisted(),
+            System.nanoTime());
+        cache.put(player.getUUID(), attributes, expireAfterNanos);
+        
+        return attributes;
+    }
+    
+    private record Attributes(boolean playedBefore, boolean banned, boolean whitelisted, long loadedAt){}
+    
+    private class CachedBukkitPlayer implements BukkitPlayer{
+        
+        private final BukkitPlayer player;
+        private Attributes attributes;
+        private OfflinePlayer offlinePlayer;
+        
+        CachedBukkitPlayer(BukkitPlayer player){
+            this.player = player;
+        }
+        
+        @Override
+        public OfflinePlayer getPlayer(){
+            if(offlinePlayer == null)
+                offlinePlayer = player.getPlayer();
+            
+            return offlinePlayer;
+        }
+        
+        @Override
+        public boolean hasPlayedBefore(){
+            return attributes().playedBefore();
+        }
+        
+        @Override
+        public boolean isBanned(){
+            return attributes().banned();
+        }
+        
+        @Override
+        public boolean isWhitelisted(){
+            return attributes().whitelisted();
+        }
+        
+        @Override
+        public String getName(){
+            return player.getName();
+        }
+        
+        @Override
+        public int getProtocol(){
+            return player.getProtocol();
+        }
+        
+        @Override
+        public UUID getUUID(){
+            return player.getUUID();
+        }
+        
+        private Attributes attributes(){
+            if(attributes == null)
+                attributes = attributesOf(player);
+            
+            return attributes;
+        }
+    }
+}
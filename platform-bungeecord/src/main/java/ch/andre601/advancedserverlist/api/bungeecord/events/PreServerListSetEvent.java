@@ -25,9 +25,19 @@
 package ch.andre601.advancedserverlist.api.bungeecord.events;
 
 import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.JfrEvents;
 import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
 import ch.andre601.advancedserverlist.api.events.GenericServerListEvent;
+import ch.andre601.advancedserverlist.api.events.PingTimings;
+import net.md_5.bungee.api.ProxyServer;
 import net.md_5.bungee.api.plugin.Event;
+import net.md_5.bungee.api.plugin.Listener;
+import net.md_5.bungee.api.plugin.Plugin;
+import net.md_5.bungee.api.plugin.PluginManager;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Map;
 
 /**
  * Called <b>before</b> AdvancedServerList modifies the server list.
@@ -35,6 +45,8 @@ import net.md_5.bungee.api.plugin.Event;
  */
 public abstract class PreServerListSetEvent extends Event implements GenericServerListEvent{
     
+    private final PingTimings timings;
+    
     private ProfileEntry entry;
     private boolean cancelled;
     
@@ -45,7 +57,76 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
      *        The initial {@link ProfileEntry ProfileEntry} to use for this event.
      */
     public PreServerListSetEvent(ProfileEntry entry){
+        this(entry, PingTimings.empty());
+    }
+    
+    /**
+     * Constructor for creating a new PreServerListSetEvent instance with the {@link PingTimings PingTimings} recorded
+     * for the current ping.
+     *
+     * @param entry
+     *        The initial {@link ProfileEntry ProfileEntry} to use for this event.
+     * @param timings
+     *        The PingTimings recorded for the current ping.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided PingTimings are null.
+     */
+    public PreServerListSetEvent(ProfileEntry entry, PingTimings timings){
+        CheckUtil.isNull("PingTimings", timings);
+        
         this.entry = entry;
+        this.timings = timings;
+    }
+    
+    /**
+     * Calls the provided event through BungeeCord's {@link net.md_5.bungee.api.plugin.PluginManager PluginManager} and
+     * records a {@link ch.andre601.advancedserverlist.api.jfr.ServerListDispatchEvent ServerListDispatchEvent} for Java Flight Recorder.
+     *
+     * @param  <E>
+     *         The type of the event.
+     * @param  event
+     *         The event to call.
+     *
+     * @return The provided event after all listeners have been called.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided event is null.
+     */
+    public static <E extends PreServerListSetEvent> E fire(E event){
+        CheckUtil.isNull("Event", event);
+        
+        Object dispatch = JfrEvents.beginServerListDispatch();
+        
+        ProfileEntry original = event.getEntry();
+        ProxyServer.getInstance().getPluginManager().callEvent(event);
+        
+        JfrEvents.completeServerListDispatch(dispatch, "bungeecord", JfrEvents.isEnabled(dispatch) ? listenerCount(event.getClass()) : -1, event, original);
+        return event;
+    }
+    
+    /**
+     * Returns whether any listener is registered for the provided event class.
+     * <br>AdvancedServerList uses this to skip creating and calling this event when nobody listens for it.
+     *
+     * <p>BungeeCord's {@link net.md_5.bungee.api.plugin.PluginManager PluginManager} offers no way to query the
+     * listeners of an event, so its internal event bus is read instead. Should this not be possible, for example due to
+     * a changed BungeeCord version, will this method always return {@code true}, making sure no listener is skipped.
+     * <br>Listeners registered through {@link net.md_5.bungee.api.plugin.PluginManager#registerListener(Plugin, Listener)
+     * PluginManager#registerListener} are always considered.
+     *
+     * @param  eventClass
+     *         The class of the event that is called, as BungeeCord only calls listeners of the exact event class.
+     *
+     * @return True if at least one listener is registered or the listeners can't be determined, otherwise false.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided event class is null.
+     */
+    public static boolean hasListeners(Class<? extends PreServerListSetEvent> eventClass){
+        CheckUtil.isNull("Event class", eventClass);
+        
+        return listenerCount(eventClass) != 0;
     }
     
     /**
@@ -62,7 +143,7 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
      * Sets the new {@link ProfileEntry} to use.
      * <br>This may not be {@code null}.
      * 
-     * <p>Note that a new copy of the entry will be made using {@link ProfileEntry#copy() ProfileEntry.copy()}.
+     * <p>As {@link ProfileEntry ProfileEntry} is immutable is the provided instance stored as-is without copying it.
      *
      * @param entry
      *        The new {@link ProfileEntry} to use.
@@ -74,7 +155,21 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
     public void setEntry(ProfileEntry entry){
         CheckUtil.isNull("ProfileEntry", entry);
         
-        this.entry = entry.copy();
+        this.entry = entry;
+    }
+    
+    /**
+     * Returns the {@link PingTimings PingTimings} recorded for the ping this event has been called for.
+     * <br>The timings cover the stages reached before this event has been called.
+     *
+     * <p>BungeeCord's event bus offers no way to time single listeners, so no listener durations are recorded. The
+     * returned instance may be re-used for a later ping and should therefore not be kept after handling this event.
+     *
+     * @return The PingTimings of the current ping.
+     */
+    @Override
+    public PingTimings getTimings(){
+        return timings;
     }
     
     /**
@@ -97,4 +192,46 @@ public abstract class PreServerListSetEvent extends Event implements GenericServ
     public void setCancelled(boolean cancelled){
         this.cancelled = cancelled;
     }
+    
+    /*
+     * Returns the number of handlers baked for the event class, or -1 should they not be readable.
+     */
+    private static int listenerCount(Class<?> eventClass){
+        Map<?, ?> baked = EventBusHandlers.BAKED;
+        if(baked == null)
+            return -1;
+        
+        try{
+            Object handlers = baked.get(eventClass);
+            if(handlers == null)
+                return 0;
+            
+            return handlers.getClass().isArray() ? Array.getLength(handlers) : -1;
+        }catch(RuntimeException ex){
+            return -1;
+        }
+    }
+    
+    /*
+     * Lazily reads the handlers BungeeCord's EventBus bakes per event class. BAKED is null should the EventBus not be
+     * readable.
+     */
+    private static final class EventBusHandlers{
+        
+        private static final Map<?, ?> BAKED = read();
+        
+        private static Map<?, ?> read(){
+            try{
+                Field busField = PluginManager.class.getDeclaredField("eventBus");
+                busField.setAccessible(true);
+                Object bus = busField.get(ProxyServer.getInstance().getPluginManager());
+                
+                Field bakedField = bus.getClass().getDeclaredField("byEventBaked");
+                bakedField.setAccessible(true);
+                return bakedField.get(bus) instanceof Map<?, ?> map ? map : null;
+            }catch(ReflectiveOperationException | RuntimeException ex){
+                return null;
+            }
+        }
+    }
 }
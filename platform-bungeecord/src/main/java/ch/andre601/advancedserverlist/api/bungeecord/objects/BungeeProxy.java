@@ -40,6 +40,8 @@ public interface BungeeProxy extends GenericServer{
      * Returns a Map&lt;String, ServerInfo&gt; where the key is the name of the Server and the value the ServerInfo from
      * the BungeeCord Proxy.
      *
+     * <p>Use {@link #getSnapshot() getSnapshot()} instead should you only need the player counts of the servers.
+     *
      * @return Possibly-empty Map containing a Server name and ServerInfo instance.
      */
     Map<String, ServerInfo> getServers();
@@ -25,17 +25,54 @@
 package ch.andre601.advancedserverlist.api.velocity.events;
 
 import ch.andre601.advancedserverlist.api.events.GenericServerListEvent;
+import ch.andre601.advancedserverlist.api.events.PingTimings;
 import ch.andre601.advancedserverlist.api.internal.CheckUtil;
+import ch.andre601.advancedserverlist.api.internal.JfrEvents;
 import ch.andre601.advancedserverlist.api.profiles.ProfileEntry;
+import com.velocitypowered.api.event.EventManager;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Called <b>before</b> AdvancedServerList modifies the server list.
  * <br>The provided {@link #getEntry() ProfileEntry} will be the one used for the server list.
+ *
+ * <p>Listeners may return an {@link com.velocitypowered.api.event.EventTask EventTask} to decide the entry
+ * asynchronously, without blocking Velocity's event threads. The event may have a {@link #getDeadline() deadline}, after
+ * which AdvancedServerList stops waiting for listeners and uses the {@link #getOriginalEntry() original ProfileEntry}.
+ * Changes made after the deadline are ignored.
+ *
+ * <h4>Example</h4>
+ * <pre>{@code
+ * @Subscribe
+ * public EventTask onPreServerListSet(PreServerListSetEvent event){
+ *     return EventTask.withContinuation(continuation -> lookup(event.getRemainingTime()).whenComplete((entry, ex) -> {
+ *         if(entry != null)
+ *             event.setEntry(entry);
+ *
+ *         continuation.resume();
+ *     }));
+ * }
+ * }</pre>
  */
 public abstract class PreServerListSetEvent implements GenericServerListEvent{
     
-    private ProfileEntry entry;
-    private boolean cancelled;
+    private static volatile HandlersCache handlersCache = null;
+    
+    private final PingTimings timings;
+    private final ProfileEntry originalEntry;
+    private final Duration deadline;
+    private final long deadlineNanos;
+    
+    private volatile ProfileEntry entry;
+    private volatile boolean cancelled;
+    private volatile boolean expired = false;
     
     /**
      * Constructor for creating a new PreServerListSetEvent instance.
@@ -44,7 +81,155 @@ public abstract class PreServerListSetEvent implements GenericServerListEvent{
      *        The initial {@link ProfileEntry ProfileEntry} to use for this event.
      */
     public PreServerListSetEvent(ProfileEntry entry){
+        this(entry, PingTimings.empty());
+    }
+    
+    /**
+     * Constructor for creating a new PreServerListSetEvent instance with the {@link PingTimings PingTimings} recorded
+     * for the current ping.
+     *
+     * @param entry
+     *        The initial {@link ProfileEntry ProfileEntry} to use for this event.
+     * @param timings
+     *        The PingTimings recorded for the current ping.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided PingTimings are null.
+     */
+    public PreServerListSetEvent(ProfileEntry entry, PingTimings timings){
+        this(entry, timings, null);
+    }
+    
+    /**
+     * Constructor for creating a new PreServerListSetEvent instance with the {@link PingTimings PingTimings} recorded
+     * for the current ping and a deadline for listeners to complete.
+     *
+     * @param entry
+     *        The initial {@link ProfileEntry ProfileEntry} to use for this event.
+     * @param timings
+     *        The PingTimings recorded for the current ping.
+     * @param deadline
+     *        How long listeners have to complete, starting now, or {@code null} for no deadline.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided PingTimings are null or the deadline is negative.
+     */
+    public PreServerListSetEvent(ProfileEntry entry, PingTimings timings, Duration deadline){
+        CheckUtil.isNull("PingTimings", timings);
+        if(deadline != null && deadline.isNegative())
+            throw new IllegalArgumentException("Deadline may not be negative!");
+        
         this.entry = entry;
+        this.originalEntry = entry;
+        this.timings = timings;
+        this.deadline = deadline;
+        this.deadlineNanos = deadline == null ? 0L : System.nanoTime() + deadline.toNanos();
+    }
+    
+    /**
+     * Fires the provided event through the {@link EventManager EventManager}, completing once all listeners,
+     * including asynchronous {@link com.velocitypowered.api.event.EventTask EventTasks}, completed or the event's
+     * {@link #getDeadline() deadline} passed.
+     * <br>A {@link ch.andre601.advancedserverlist.api.jfr.ServerListDispatchEvent ServerListDispatchEvent} is recorded for Java Flight Recorder, covering the
+     * time until the returned future completes.
+     * <br>Should the deadline pass first will the event be {@link #isExpired() expired}, making it use its
+     * {@link #getOriginalEntry() original ProfileEntry} and ignore any later changes. The returned future is then
+     * completed on the {@link ForkJoinPool#commonPool() common pool}, rather than on the JDK's shared timeout thread.
+     * Use {@link #fire(EventManager, PreServerListSetEvent, Executor) fire(EventManager, E, Executor)} to provide a
+     * different {@link Executor Executor}.
+     *
+     * @param  <E>
+     *         The type of the event.
+     * @param  manager
+     *         The {@link EventManager EventManager} of the proxy.
+     * @param  event
+     *         The event to fire.
+     *
+     * @return CompletableFuture completing with the event once it has been handled or expired.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided EventManager or event is null.
+     */
+    public static <E extends PreServerListSetEvent> CompletableFuture<E> fire(EventManager manager, E event){
+        return fire(manager, event, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Fires the provided event through the {@link EventManager EventManager}, just like
+     * {@link #fire(EventManager, PreServerListSetEvent) fire(EventManager, E)}, but completes the returned future on
+     * the provided {@link Executor Executor} should the event's {@link #getDeadline() deadline} pass.
+     *
+     * @param  <E>
+     *         The type of the event.
+     * @param  manager
+     *         The {@link EventManager EventManager} of the proxy.
+     * @param  event
+     *         The event to fire.
+     * @param  executor
+     *         The Executor to complete the returned future on should the deadline pass.
+     *
+     * @return CompletableFuture completing with the event once it has been handled or expired.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided EventManager, event or executor is null.
+     */
+    public static <E extends PreServerListSetEvent> CompletableFuture<E> fire(EventManager manager, E event,
+                                                                              Executor executor){
+        CheckUtil.isNull("EventManager", manager);
+        CheckUtil.isNull("Event", event);
+        CheckUtil.isNull("Executor", executor);
+        
+        Object dispatch = JfrEvents.beginServerListDispatch();
+        
+        PreServerListSetEvent base = event;
+        CompletableFuture<E> fired = manager.fire(event);
+        if(base.deadline == null)
+            return fired.thenApply(handled -> complete(dispatch, handled));
+        
+        // Completing a dependent future on timeout leaves the one of the EventManager untouched. The caller's follow-up
+        // work continues on the executor, as the JDK's single timeout thread would otherwise run it for every expired
+        // event.
+        return fired.thenApply(handled -> handled)
+            .completeOnTimeout(event, event.getRemainingTime().toNanos(), TimeUnit.NANOSECONDS)
+            .thenApplyAsync(handled -> {
+                if(!fired.isDone())
+                    base.expire();
+                
+                return complete(dispatch, handled);
+            }, executor);
+    }
+    
+    /**
+     * Returns whether any listener is registered for the provided event class.
+     * <br>AdvancedServerList uses this to skip creating and calling this event when nobody listens for it.
+     *
+     * <p>Velocity's {@link EventManager EventManager} offers no way to query the listeners of an event, so the handlers it
+     * caches per event class are read instead. Should this not be possible, for example due to a changed Velocity
+     * version, will this method always return {@code true}, making sure no listener is skipped.
+     * <br>Listeners registered through {@link EventManager#register(Object, Object) EventManager#register} are always
+     * considered.
+     *
+     * @param  manager
+     *         The {@link EventManager EventManager} of the proxy.
+     * @param  eventClass
+     *         The class of the event that is called.
+     *
+     * @return True if at least one listener is registered or the listeners can't be determined, otherwise false.
+     *
+     * @throws IllegalArgumentException
+     *         When the provided EventManager or event class is null.
+     */
+    public static boolean hasListeners(EventManager manager, Class<? extends PreServerListSetEvent> eventClass){
+        CheckUtil.isNull("EventManager", manager);
+        CheckUtil.isNull("Event class", eventClass);
+        
+        HandlersCache cache = handlersCache;
+        if(cache == null || cache.manager() != manager){
+            cache = HandlersCache.of(manager);
+            handlersCache = cache;
+        }
+        
+        return cache.hasHandlers(eventClass);
     }
     
     /**
@@ -54,14 +239,60 @@ public abstract class PreServerListSetEvent implements GenericServerListEvent{
      */
     @Override
     public ProfileEntry getEntry(){
-        return entry;
+        return expired ? originalEntry : entry;
+    }
+    
+    /**
+     * Gets the {@link ProfileEntry ProfileEntry} this event has been created with.
+     * <br>This is the entry used should the event {@link #isExpired() expire}.
+     *
+     * @return The original {@link ProfileEntry ProfileEntry}.
+     */
+    public ProfileEntry getOriginalEntry(){
+        return originalEntry;
+    }
+    
+    /**
+     * Returns how long listeners have to complete, starting from the creation of this event.
+     *
+     * @return Possibly-null {@link Duration Duration} of the deadline, or {@code null} if there is none.
+     */
+    public Duration getDeadline(){
+        return deadline;
+    }
+    
+    /**
+     * Returns the time left until the {@link #getDeadline() deadline} passes.
+     * <br>Useful to limit lookups done by asynchronous listeners.
+     *
+     * @return The remaining time, {@link Duration#ZERO Duration.ZERO} if the deadline passed or a very long duration if
+     *         there is no deadline.
+     */
+    public Duration getRemainingTime(){
+        if(deadline == null)
+            return Duration.ofNanos(Long.MAX_VALUE);
+        
+        long remaining = deadlineNanos - System.nanoTime();
+        return remaining <= 0L || expired ? Duration.ZERO : Duration.ofNanos(remaining);
+    }
+    
+    /**
+     * Returns whether the deadline passed before all listeners completed.
+     * <br>An expired event uses its {@link #getOriginalEntry() original ProfileEntry}, is not cancelled and ignores any
+     * further changes.
+     *
+     * @return Whether this event expired.
+     */
+    public boolean isExpired(){
+        return expired;
     }
     
     /**
      * Sets the new {@link ProfileEntry} to use.
      * <br>This may not be {@code null}.
      *
-     * <p>Note that a new copy of the entry will be made using {@link ProfileEntry#copy() ProfileEntry.copy()}.
+     * <p>As {@link ProfileEntry ProfileEntry} is immutable is the provided instance stored as-is without copying it.
+     * <br>Calling this method after the event {@link #isExpired() expired} has no effect.
      *
      * @param entry
      *        The new {@link ProfileEntry} to use.
@@ -73,7 +304,23 @@ public abstract class PreServerListSetEvent implements GenericServerListEvent{
     public void setEntry(ProfileEntry entry){
         CheckUtil.isNull("ProfileEntry", entry);
         
-        this.entry = entry.copy();
+        if(!expired)
+            this.entry = entry;
+    }
+    
+    /**
+     * Returns the {@link PingTimings PingTimings} recorded for the ping this event has been called for.
+     * <br>The timings cover the stages reached before this event has been called.
+     *
+     * <p>Velocity's event manager offers no way to time single listeners, so no listener durations are recorded.
+     * The returned instance may be re-used for a later ping and should therefore not be kept after handling this
+     * event.
+     *
+     * @return The PingTimings of the current ping.
+     */
+    @Override
+    public PingTimings getTimings(){
+        return timings;
     }
     
     /**
@@ -83,7 +330,7 @@ public abstract class PreServerListSetEvent implements GenericServerListEvent{
      */
     @Override
     public boolean isCancelled(){
-        return cancelled;
+        return !expired && cancelled;
     }
     
     /**
@@ -94,6 +341,47 @@ public abstract class PreServerListSetEvent implements GenericServerListEvent{
      */
     @Override
     public void setCancelled(boolean cancelled){
-        this.cancelled = cancelled;
+        if(!expired)
+            this.cancelled = cancelled;
+    }
+    
+    private void expire(){
+        this.expired = true;
+    }
+    
+    // Velocity doesn't expose the number of listeners, which is therefore recorded as unknown.
+    private static <E extends PreServerListSetEvent> E complete(Object dispatch, E event){
+        JfrEvents.completeServerListDispatch(dispatch, "velocity", -1, event, event.getOriginalEntry());
+        return event;
+    }
+    
+    /*
+     * Reads the handlers Velocity's EventManager bakes per event class, which are null for classes without any
+     * handlers. cache and get are null should the EventManager not be readable.
+     */
+    private record HandlersCache(EventManager manager, Object cache, Method get){
+        
+        static HandlersCache of(EventManager manager){
+            try{
+                Field field = manager.getClass().getDeclaredField("handlersCache");
+                field.setAccessible(true);
+                
+                // The declared type is the public LoadingCache interface, unlike the class of the actual instance.
+                return new HandlersCache(manager, field.get(manager), field.getType().getMethod("get", Object.class));
+            }catch(ReflectiveOperationException | RuntimeException ex){
+                return new HandlersCache(manager, null, null);
+            }
+        }
+        
+        boolean hasHandlers(Class<?> eventClass){
+            if(cache == null)
+                return true;
+            
+            try{
+                return get.invoke(cache, eventClass) != null;
+            }catch(ReflectiveOperationException | RuntimeException ex){
+                return true;
+            }
+        }
     }
 }
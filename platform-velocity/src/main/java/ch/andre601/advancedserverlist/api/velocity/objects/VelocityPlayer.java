@@ -40,6 +40,8 @@ public interface VelocityPlayer extends GenericPlayer{
      * Returns the {@link #getProtocol() protocol version} in a readable MC version format (i.e. 1.19.3).
      *
      * <p>This only works on Velocity and will return {@code null} for any other platform.
+     * Use {@link ch.andre601.advancedserverlist.api.objects.ProtocolVersions ProtocolVersions} to get the same
+     * information on any platform.
      *
      * @return The readable MC version the player uses.
      */
@@ -40,6 +40,8 @@ public interface VelocityProxy extends GenericServer{
      * Returns a Map&lt;String, RegisteredServer&gt; where the key is the name of the Server and the value the
      * RegisteredServer from the Velocity Proxy.
      *
+     * <p>Use {@link #getSnapshot() getSnapshot()} instead should you only need the player counts of the servers.
+     *
      * @return Possibly-empty Map containing a Server name and RegisteredServer instance.
      */
     Map<String, RegisteredServer> getServers();